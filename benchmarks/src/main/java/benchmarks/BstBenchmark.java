@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * @file: BstBenchmark.java
+ * @description: JMH throughput of BST insert, search and in-order iteration.
+ *               Keys are inserted in random order so the tree stays close to
+ *               balanced; searches mix hits and misses.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+package benchmarks;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BstBenchmark
+{
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Integer[] keys;
+    private Integer[] probes;
+    private Object tree;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildTree() throws Throwable
+    {
+        Random random = new Random(42);
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++)
+        {
+            keys[i] = random.nextInt();
+        }
+
+        tree = Proj3Api.NEW_BST.invoke();
+        for (Integer k : keys)
+        {
+            Proj3Api.BST_INSERT.invoke(tree, k);
+        }
+
+        // half the probes are present keys, half are almost surely absent
+        probes = new Integer[1 << 14];
+        for (int i = 0; i < probes.length; i++)
+        {
+            probes[i] = (i % 2 == 0) ? keys[random.nextInt(size)] : random.nextInt();
+        }
+    }
+
+    // one operation builds a whole tree of the given size
+    @Benchmark
+    public Object insert() throws Throwable
+    {
+        Object t = Proj3Api.NEW_BST.invoke();
+        for (Integer k : keys)
+        {
+            Proj3Api.BST_INSERT.invoke(t, k);
+        }
+        return t;
+    }
+
+    @Benchmark
+    public boolean search() throws Throwable
+    {
+        Integer probe = probes[next];
+        next = (next + 1) & (probes.length - 1);
+        return (boolean) Proj3Api.BST_SEARCH.invoke(tree, probe);
+    }
+
+    // one operation is a full in-order traversal
+    @Benchmark
+    public void iterate(Blackhole bh) throws Throwable
+    {
+        Iterator<?> it = (Iterator<?>) Proj3Api.BST_ITERATOR.invoke(tree);
+        while (it.hasNext())
+        {
+            bh.consume(it.next());
+        }
+    }
+}
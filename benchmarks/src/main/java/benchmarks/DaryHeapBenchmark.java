@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * @file: DaryHeapBenchmark.java
+ * @description: JMH comparison of MinBinaryHeap and DaryMinHeap at arities 2,
+ *               4 and 8. Measures draining a full heap, building one (add
+ *               one at a time vs addAll), and the k-way merge step: the
+ *               minimum head is taken and the next element of its run goes
+ *               in (poll + add on MinBinaryHeap, replaceTop on DaryMinHeap).
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DaryHeapBenchmark
+{
+    // Elements per drain/build invocation, and per k-way merge; a power of
+    // two so every k splits it evenly
+    private static final int BATCH = 1 << 17;
+
+    // "binary" is MinBinaryHeap; numbers are DaryMinHeap arities
+    @Param({"binary", "2", "4", "8"})
+    public String heapType;
+
+    private Integer[] keys;
+
+    @Setup(Level.Trial)
+    public void createKeys()
+    {
+        Random random = new Random(42);
+        keys = new Integer[BATCH];
+        for (int i = 0; i < BATCH; i++)
+        {
+            keys[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void poll(FullHeap full, Blackhole bh) throws Throwable
+    {
+        boolean binary = full.binary;
+        for (int i = 0; i < BATCH; i++)
+        {
+            bh.consume(binary ? Proj3Api.HEAP_POLL.invoke(full.heap) : Proj3Api.DARY_POLL.invoke(full.heap));
+        }
+    }
+
+    // MinBinaryHeap adds one at a time; DaryMinHeap takes the whole batch
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object build() throws Throwable
+    {
+        if (heapType.equals("binary"))
+        {
+            Object heap = Proj3Api.NEW_HEAP.invoke();
+            for (Integer k : keys)
+            {
+                Proj3Api.HEAP_ADD.invoke(heap, k);
+            }
+            return heap;
+        }
+
+        Object heap = Proj3Api.NEW_DARY_HEAP.invoke(Integer.parseInt(heapType));
+        Proj3Api.DARY_ADD_ALL.invoke(heap, Arrays.asList(keys));
+        return heap;
+    }
+
+    // Merges every run; each heap entry packs (value << 20 | run) into a
+    // Long, so ties fall to the lower run as in KWayMerge
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long merge(Runs runs) throws Throwable
+    {
+        boolean binary = heapType.equals("binary");
+        int[] next = new int[runs.k];
+        Object heap = binary ? Proj3Api.NEW_HEAP.invoke() : Proj3Api.NEW_DARY_HEAP.invoke(Integer.parseInt(heapType));
+
+        for (int r = 0; r < runs.k; r++)
+        {
+            Long head = runs.entry(r, next[r]++);
+            if (binary)
+            {
+                Proj3Api.HEAP_ADD.invoke(heap, head);
+            }
+            else
+            {
+                Proj3Api.DARY_ADD.invoke(heap, head);
+            }
+        }
+
+        long checksum = 0;
+        for (int i = 0; i < BATCH; i++)
+        {
+            Long top = binary ? (Long) Proj3Api.HEAP_POLL.invoke(heap) : (Long) Proj3Api.DARY_PEEK.invoke(heap);
+            int r = (int) (top & Runs.RUN_MASK);
+            checksum += top;
+
+            if (next[r] < runs.length)
+            {
+                Long head = runs.entry(r, next[r]++);
+                if (binary)
+                {
+                    Proj3Api.HEAP_ADD.invoke(heap, head);
+                }
+                else
+                {
+                    Proj3Api.DARY_REPLACE_TOP.invoke(heap, head);
+                }
+            }
+            else if (!binary)
+            {
+                Proj3Api.DARY_POLL.invoke(heap);
+            }
+        }
+        return checksum;
+    }
+
+    // A heap of BATCH keys refilled before every poll invocation (not timed)
+    @State(Scope.Thread)
+    public static class FullHeap
+    {
+        private boolean binary;
+        private List<Integer> keys;
+        private Object heap;
+
+        @Setup(Level.Trial)
+        public void createKeys(DaryHeapBenchmark bench)
+        {
+            binary = bench.heapType.equals("binary");
+            keys = new ArrayList<>(Arrays.asList(bench.keys));
+        }
+
+        @Setup(Level.Invocation)
+        public void fill(DaryHeapBenchmark bench) throws Throwable
+        {
+            if (binary)
+            {
+                heap = Proj3Api.NEW_HEAP.invoke();
+                for (Integer k : keys)
+                {
+                    Proj3Api.HEAP_ADD.invoke(heap, k);
+                }
+            }
+            else
+            {
+                // one add at a time, so both heaps start from the same shape
+                heap = Proj3Api.NEW_DARY_HEAP.invoke(Integer.parseInt(bench.heapType));
+                for (Integer k : keys)
+                {
+                    Proj3Api.DARY_ADD.invoke(heap, k);
+                }
+            }
+        }
+    }
+
+    // k sorted runs of BATCH / k values each
+    @State(Scope.Thread)
+    public static class Runs
+    {
+        static final long RUN_MASK = (1 << 20) - 1;
+
+        @Param({"16", "1024"})
+        public int k;
+
+        private int length;
+        private int[][] values;
+
+        @Setup(Level.Trial)
+        public void createRuns()
+        {
+            Random random = new Random(11);
+            length = BATCH / k;
+            values = new int[k][length];
+
+            for (int[] run : values)
+            {
+                for (int i = 0; i < length; i++)
+                {
+                    run[i] = random.nextInt(1 << 30);
+                }
+                Arrays.sort(run);
+            }
+        }
+
+        Long entry(int run, int index)
+        {
+            return ((long) values[run][index] << 20) | run;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * @file: HeapBenchmark.java
+ * @description: JMH throughput of MinBinaryHeap: filling an empty heap,
+ *               draining a full one, and a steady-state add+poll pair on a
+ *               heap held at a fixed size.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HeapBenchmark
+{
+    // Batch benchmarks report per-element throughput
+    private static final int BATCH = 10_000;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Integer[] keys;
+
+    @Setup(Level.Trial)
+    public void createKeys()
+    {
+        Random random = new Random(42);
+        keys = new Integer[Math.max(size, BATCH) * 2];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object add() throws Throwable
+    {
+        Object h = Proj3Api.NEW_HEAP.invoke();
+        for (int i = 0; i < BATCH; i++)
+        {
+            Proj3Api.HEAP_ADD.invoke(h, keys[i]);
+        }
+        return h;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void poll(FullHeap full, Blackhole bh) throws Throwable
+    {
+        for (int i = 0; i < BATCH; i++)
+        {
+            bh.consume(Proj3Api.HEAP_POLL.invoke(full.heap));
+        }
+    }
+
+    // one add and one poll on a heap that stays at the given size
+    @Benchmark
+    public Object addPoll(SteadyHeap steady) throws Throwable
+    {
+        Proj3Api.HEAP_ADD.invoke(steady.heap, keys[steady.next]);
+        steady.next = (steady.next + 1 == keys.length) ? 0 : steady.next + 1;
+        return Proj3Api.HEAP_POLL.invoke(steady.heap);
+    }
+
+    // A heap of size keys for addPoll, refilled before each iteration; a
+    // separate state so add and poll do not pay for the fill
+    @State(Scope.Thread)
+    public static class SteadyHeap
+    {
+        private Object heap;
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void fill(HeapBenchmark bench) throws Throwable
+        {
+            heap = Proj3Api.NEW_HEAP.invoke();
+            for (int i = 0; i < bench.size; i++)
+            {
+                Proj3Api.HEAP_ADD.invoke(heap, bench.keys[i]);
+            }
+            next = bench.size;
+        }
+    }
+
+    // A heap of BATCH keys refilled before every poll invocation (not timed);
+    // kept apart so the other benchmarks skip the per-invocation setup
+    @State(Scope.Thread)
+    public static class FullHeap
+    {
+        private final Integer[] keys = new Integer[BATCH];
+        private Object heap;
+
+        public FullHeap()
+        {
+            Random random = new Random(7);
+            for (int i = 0; i < BATCH; i++)
+            {
+                keys[i] = random.nextInt();
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void fill() throws Throwable
+        {
+            heap = Proj3Api.NEW_HEAP.invoke();
+            for (Integer k : keys)
+            {
+                Proj3Api.HEAP_ADD.invoke(heap, k);
+            }
+        }
+    }
+}
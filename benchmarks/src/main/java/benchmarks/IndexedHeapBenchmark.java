@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * @file: IndexedHeapBenchmark.java
+ * @description: JMH comparison of MinBinaryHeap and IndexedMinBinaryHeap on
+ *               update-heavy work against a heap of the given size:
+ *               contains, remove plus re-add of a random element, and a
+ *               priority change (remove/mutate/add on MinBinaryHeap, mutate
+ *               then update on the indexed heap).
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IndexedHeapBenchmark
+{
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"plain", "indexed"})
+    public String heapType;
+
+    private boolean indexed;
+    private Task[] tasks;
+    private Object heap;
+    private Random random;
+
+    // A scheduled job: mutable priority, identity equals/hashCode
+    public static final class Task implements Comparable<Task>
+    {
+        private final int id;
+        private int priority;
+
+        Task(int id, int priority)
+        {
+            this.id = id;
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(Task other)
+        {
+            int cmp = Integer.compare(priority, other.priority);
+            return (cmp != 0) ? cmp : Integer.compare(id, other.id);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void fillHeap() throws Throwable
+    {
+        indexed = heapType.equals("indexed");
+        random = new Random(42);
+        tasks = new Task[size];
+        heap = indexed ? Proj3Api.NEW_INDEXED_HEAP.invoke() : Proj3Api.NEW_HEAP.invoke();
+
+        for (int i = 0; i < size; i++)
+        {
+            tasks[i] = new Task(i, random.nextInt());
+            add(tasks[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() throws Throwable
+    {
+        Task t = tasks[random.nextInt(size)];
+        return indexed ? (boolean) Proj3Api.INDEXED_CONTAINS.invoke(heap, t)
+                : (boolean) Proj3Api.HEAP_CONTAINS.invoke(heap, t);
+    }
+
+    // heap size stays constant
+    @Benchmark
+    public Object removeAdd() throws Throwable
+    {
+        Task t = tasks[random.nextInt(size)];
+        remove(t);
+        add(t);
+        return heap;
+    }
+
+    // MinBinaryHeap has no in-place update, so the element is taken out
+    // before its priority changes and added back afterwards
+    @Benchmark
+    public Object changePriority() throws Throwable
+    {
+        Task t = tasks[random.nextInt(size)];
+
+        if (indexed)
+        {
+            t.priority = random.nextInt();
+            Proj3Api.INDEXED_UPDATE.invoke(heap, t);
+        }
+        else
+        {
+            remove(t);
+            t.priority = random.nextInt();
+            add(t);
+        }
+        return heap;
+    }
+
+    // The handles stay static finals so the JIT can inline through them
+    private void add(Task t) throws Throwable
+    {
+        if (indexed)
+        {
+            Proj3Api.INDEXED_ADD.invoke(heap, t);
+        }
+        else
+        {
+            Proj3Api.HEAP_ADD.invoke(heap, t);
+        }
+    }
+
+    private void remove(Task t) throws Throwable
+    {
+        if (indexed)
+        {
+            Proj3Api.INDEXED_REMOVE.invoke(heap, t);
+        }
+        else
+        {
+            Proj3Api.HEAP_REMOVE.invoke(heap, t);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * @file: InputCopyBenchmark.java
+ * @description: JMH baseline for the input copy that SortBenchmark and
+ *               QuadraticSortBenchmark time along with each sort. Copying an
+ *               ArrayList only copies references, so the cost depends on N
+ *               alone; subtract the score at the same N from a sort's score.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InputCopyBenchmark
+{
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int n;
+
+    @SuppressWarnings("rawtypes")
+    private ArrayList<Comparable> input;
+
+    @Setup(Level.Trial)
+    public void createInput() throws Throwable
+    {
+        input = Inputs.create("string", "shuffled", n, 42);
+    }
+
+    @Benchmark
+    @SuppressWarnings("rawtypes")
+    public ArrayList<Comparable> copy()
+    {
+        return new ArrayList<>(input);
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * @file: Inputs.java
+ * @description: Deterministic benchmark inputs: synthetic titles as Strings
+ *               or HorrorMovie records, arranged sorted, shuffled or
+ *               reversed the same way Proj3 prepares its three cases.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+final class Inputs
+{
+    private static final String[] WORDS = {
+        "night", "dead", "house", "blood", "return", "evil", "the", "of", "curse", "dark",
+        "witch", "haunting", "shadow", "scream", "ghost", "zombie", "cabin", "silent", "hill", "ring"
+    };
+
+    private Inputs()
+    {
+    }
+
+    // n elements of the given type ("string" or "movie") in the given
+    // order ("sorted", "shuffled" or "reversed")
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static ArrayList<Comparable> create(String element, String order, int n, long seed) throws Throwable
+    {
+        Random random = new Random(seed);
+        ArrayList<Comparable> list = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++)
+        {
+            String title = title(random);
+            list.add(element.equals("movie")
+                    ? Proj3Api.movie(title, random.nextInt(101) / 10.0)
+                    : title);
+        }
+
+        switch (order)
+        {
+            case "sorted" -> Collections.sort((List) list);
+            case "shuffled" -> Collections.shuffle(list, random);
+            case "reversed" -> Collections.sort((List) list, Collections.reverseOrder());
+            default -> throw new IllegalArgumentException("Unknown order " + order);
+        }
+
+        return list;
+    }
+
+    // Two to four capitalized words plus a number, so titles share prefixes
+    private static String title(Random random)
+    {
+        StringBuilder sb = new StringBuilder();
+        int words = 2 + random.nextInt(3);
+
+        for (int w = 0; w < words; w++)
+        {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            sb.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length()).append(' ');
+        }
+
+        return sb.append(random.nextInt(1000)).toString();
+    }
+}
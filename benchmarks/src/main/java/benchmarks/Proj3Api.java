@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * @file: Proj3Api.java
+ * @description: Method handles onto the Proj3 classes. Those classes live in
+ *               the default package, which JMH refuses for benchmarks and
+ *               which named packages cannot import, so the benchmarks bind
+ *               to them here once. The handles are static finals, so the JIT
+ *               treats them as constants and inlines the calls.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+
+final class Proj3Api
+{
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    // Proj3 sorts: (ArrayList, left, right) and (ArrayList, size) -> comparisons
+    static final MethodHandle MERGE_SORT = sortHandle("mergeSort");
+    static final MethodHandle QUICK_SORT = sortHandle("quickSort");
+    static final MethodHandle HEAP_SORT = sortHandle("heapSort");
+    static final MethodHandle BUBBLE_SORT = countingHandle("bubbleSort");
+    static final MethodHandle TRANSPOSITION_SORT = countingHandle("transpositionSort");
+
+    static final MethodHandle NEW_MOVIE =
+            constructor("HorrorMovie", MethodType.methodType(void.class, String.class, double.class));
+
+    static final MethodHandle NEW_HEAP = constructor("MinBinaryHeap", MethodType.methodType(void.class));
+    static final MethodHandle HEAP_ADD = virtual("MinBinaryHeap", "add", void.class, Comparable.class);
+    static final MethodHandle HEAP_POLL = virtual("MinBinaryHeap", "poll", Comparable.class);
+    static final MethodHandle HEAP_SIZE = virtual("MinBinaryHeap", "size", int.class);
+    static final MethodHandle HEAP_CONTAINS = virtual("MinBinaryHeap", "contains", boolean.class, Comparable.class);
+    static final MethodHandle HEAP_REMOVE = virtual("MinBinaryHeap", "remove", boolean.class, Comparable.class);
+
+    static final MethodHandle NEW_DARY_HEAP =
+            constructor("DaryMinHeap", MethodType.methodType(void.class, int.class));
+    static final MethodHandle DARY_ADD = virtual("DaryMinHeap", "add", void.class, Comparable.class);
+    static final MethodHandle DARY_ADD_ALL = virtual("DaryMinHeap", "addAll", void.class, Collection.class);
+    static final MethodHandle DARY_POLL = virtual("DaryMinHeap", "poll", Comparable.class);
+    static final MethodHandle DARY_PEEK = virtual("DaryMinHeap", "peek", Comparable.class);
+    static final MethodHandle DARY_REPLACE_TOP =
+            virtual("DaryMinHeap", "replaceTop", Comparable.class, Comparable.class);
+
+    static final MethodHandle NEW_INDEXED_HEAP = constructor("IndexedMinBinaryHeap", MethodType.methodType(void.class));
+    static final MethodHandle INDEXED_ADD = virtual("IndexedMinBinaryHeap", "add", void.class, Comparable.class);
+    static final MethodHandle INDEXED_CONTAINS =
+            virtual("IndexedMinBinaryHeap", "contains", boolean.class, Comparable.class);
+    static final MethodHandle INDEXED_REMOVE =
+            virtual("IndexedMinBinaryHeap", "remove", boolean.class, Comparable.class);
+    static final MethodHandle INDEXED_UPDATE =
+            virtual("IndexedMinBinaryHeap", "update", boolean.class, Comparable.class);
+
+    static final MethodHandle NEW_BST = constructor("BST", MethodType.methodType(void.class));
+    static final MethodHandle BST_INSERT = virtual("BST", "insert", void.class, Comparable.class);
+    static final MethodHandle BST_SEARCH = virtual("BST", "search", boolean.class, Comparable.class);
+    static final MethodHandle BST_ITERATOR = virtual("BST", "iterator", Iterator.class);
+
+    private Proj3Api()
+    {
+    }
+
+    // Sorts list in place with the named Proj3 algorithm; returns the
+    // comparison count for bubble and transposition, otherwise 0
+    static int sort(String algorithm, ArrayList<?> list) throws Throwable
+    {
+        int right = list.size() - 1;
+
+        switch (algorithm)
+        {
+            case "merge" -> MERGE_SORT.invoke(list, 0, right);
+            case "quick" -> QUICK_SORT.invoke(list, 0, right);
+            case "heap" -> HEAP_SORT.invoke(list, 0, right);
+            case "bubble" -> { return (int) BUBBLE_SORT.invoke(list, list.size()); }
+            case "transposition" -> { return (int) TRANSPOSITION_SORT.invoke(list, list.size()); }
+            default -> throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        }
+        return 0;
+    }
+
+    static Comparable<?> movie(String title, double rating) throws Throwable
+    {
+        return (Comparable<?>) NEW_MOVIE.invoke(title, rating);
+    }
+
+    // ------------------------------------------------------------
+    // Lookup
+    // ------------------------------------------------------------
+
+    private static MethodHandle sortHandle(String name)
+    {
+        return staticHandle(name, MethodType.methodType(void.class, ArrayList.class, int.class, int.class));
+    }
+
+    private static MethodHandle countingHandle(String name)
+    {
+        return staticHandle(name, MethodType.methodType(int.class, ArrayList.class, int.class));
+    }
+
+    private static MethodHandle staticHandle(String name, MethodType type)
+    {
+        try
+        {
+            return LOOKUP.findStatic(Class.forName("Proj3"), name, type);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle constructor(String className, MethodType type)
+    {
+        try
+        {
+            return LOOKUP.findConstructor(Class.forName(className), type);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle virtual(String className, String name, Class<?> returns, Class<?>... params)
+    {
+        try
+        {
+            return LOOKUP.findVirtual(Class.forName(className), name, MethodType.methodType(returns, params));
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
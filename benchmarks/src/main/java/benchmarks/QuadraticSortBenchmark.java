@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * @file: QuadraticSortBenchmark.java
+ * @description: JMH benchmark of the O(n^2) Proj3 sorts (bubble, odd-even
+ *               transposition) on the same inputs as SortBenchmark. N stops
+ *               at 1e4; a single 1e6 bubble sort would take hours. As in
+ *               SortBenchmark the timed copy of the input is measured on its
+ *               own by InputCopyBenchmark.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class QuadraticSortBenchmark
+{
+    @Param({"bubble", "transposition"})
+    public String algorithm;
+
+    @Param({"sorted", "shuffled", "reversed"})
+    public String order;
+
+    @Param({"string", "movie"})
+    public String element;
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    @SuppressWarnings("rawtypes")
+    private ArrayList<Comparable> input;
+
+    @Setup(Level.Trial)
+    public void createInput() throws Throwable
+    {
+        input = Inputs.create(element, order, n, 42);
+    }
+
+    // each call sorts its own copy of the input; the comparison count is
+    // consumed too so it cannot be optimized away
+    @Benchmark
+    public void sort(Blackhole bh) throws Throwable
+    {
+        @SuppressWarnings("rawtypes")
+        ArrayList<Comparable> working = new ArrayList<>(input);
+        bh.consume(Proj3Api.sort(algorithm, working));
+        bh.consume(working);
+    }
+}
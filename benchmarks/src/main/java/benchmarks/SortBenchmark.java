@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * @file: SortBenchmark.java
+ * @description: JMH benchmark of the O(n log n) Proj3 sorts (merge, quick,
+ *               heap) on sorted, shuffled and reversed inputs of Strings and
+ *               HorrorMovies, for N = 1e3 to 1e6. Every invocation copies
+ *               the trial's input and sorts the copy, and the result goes to
+ *               a Blackhole. The copy is timed with the sort; subtract the
+ *               InputCopyBenchmark score at the same N to get the sort alone.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SortBenchmark
+{
+    @Param({"merge", "quick", "heap"})
+    public String algorithm;
+
+    @Param({"sorted", "shuffled", "reversed"})
+    public String order;
+
+    @Param({"string", "movie"})
+    public String element;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int n;
+
+    @SuppressWarnings("rawtypes")
+    private ArrayList<Comparable> input;
+
+    @Setup(Level.Trial)
+    public void createInput() throws Throwable
+    {
+        input = Inputs.create(element, order, n, 42);
+    }
+
+    // sorts run in place, so every call copies the input first; a
+    // Level.Invocation setup is not reliable for calls this short
+    @Benchmark
+    public void sort(Blackhole bh) throws Throwable
+    {
+        @SuppressWarnings("rawtypes")
+        ArrayList<Comparable> working = new ArrayList<>(input);
+        bh.consume(Proj3Api.sort(algorithm, working));
+        bh.consume(working);
+    }
+}
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * @file: ArraySortsTest.java
+ * @description: Sortedness, permutation and stability checks for every
+ *               ArraySorts kernel. Each kernel sorts a slice a[from, to) of
+ *               random, sorted, reversed and few-distinct inputs of several
+ *               sizes, and the elements outside the slice must not move.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ArraySortsTest
+{
+    // Untouched elements on each side of the sorted slice
+    private static final int MARGIN = 3;
+
+    private interface ObjectKernel
+    {
+        void sort(SortChecks.Item[] a, int from, int to);
+    }
+
+    private interface DoubleKernel
+    {
+        void sort(double[] a, int from, int to);
+    }
+
+    private interface LongKernel
+    {
+        void sort(long[] a, int from, int to);
+    }
+
+    private interface PermutationKernel
+    {
+        void sort(int[] perm, int from, int to, ArraySorts.IndexComparator c);
+    }
+
+    // ------------------------------------------------------------
+    // T[] kernels
+    // ------------------------------------------------------------
+
+    @Test
+    void mergeSort()
+    {
+        checkObjects("mergeSort", true, ArraySorts::mergeSort);
+    }
+
+    @Test
+    void quickSort()
+    {
+        checkObjects("quickSort", false, ArraySorts::quickSort);
+    }
+
+    @Test
+    void heapSort()
+    {
+        checkObjects("heapSort", false, ArraySorts::heapSort);
+    }
+
+    @Test
+    void bubbleSort()
+    {
+        checkObjects("bubbleSort", true, ArraySorts::bubbleSort);
+    }
+
+    @Test
+    void transpositionSort()
+    {
+        checkObjects("transpositionSort", true, ArraySorts::transpositionSort);
+    }
+
+    private static void checkObjects(String name, boolean stable, ObjectKernel kernel)
+    {
+        Random random = new Random(201);
+
+        for (int n : SortChecks.SIZES)
+        {
+            for (String pattern : SortChecks.PATTERNS)
+            {
+                SortChecks.Item[] input = SortChecks.items(SortChecks.keys(n, pattern, random));
+
+                // the slice sits between margins of sentinels
+                SortChecks.Item[] a = new SortChecks.Item[n + 2 * MARGIN];
+                for (int i = 0; i < MARGIN; i++)
+                {
+                    a[i] = new SortChecks.Item(Integer.MAX_VALUE, -1);
+                    a[MARGIN + n + i] = new SortChecks.Item(Integer.MIN_VALUE, -1);
+                }
+                System.arraycopy(input, 0, a, MARGIN, n);
+                SortChecks.Item[] before = a.clone();
+
+                kernel.sort(a, MARGIN, MARGIN + n);
+
+                String label = name + " " + pattern + " n=" + n;
+                assertMarginsKept(before, a, n, label);
+                SortChecks.assertSorted(input, Arrays.copyOfRange(a, MARGIN, MARGIN + n), stable, label);
+            }
+        }
+    }
+
+    private static void assertMarginsKept(Object[] before, Object[] after, int n, String label)
+    {
+        for (int i = 0; i < MARGIN; i++)
+        {
+            assertTrue(before[i] == after[i] && before[MARGIN + n + i] == after[MARGIN + n + i],
+                    label + ": element outside the slice moved");
+        }
+    }
+
+    // ------------------------------------------------------------
+    // double[] and long[] kernels
+    // ------------------------------------------------------------
+
+    // Arrays.sort orders doubles like Double.compare, so its result is the
+    // only correct one; a few NaNs and signed zeros are mixed into random input
+    @Test
+    void doubleKernels()
+    {
+        DoubleKernel[] kernels = {ArraySorts::mergeSort, ArraySorts::quickSort, ArraySorts::heapSort};
+        String[] names = {"mergeSort", "quickSort", "heapSort"};
+        Random random = new Random(202);
+
+        for (int n : SortChecks.SIZES)
+        {
+            for (String pattern : SortChecks.PATTERNS)
+            {
+                int[] keys = SortChecks.keys(n, pattern, random);
+                double[] a = new double[n + 2 * MARGIN];
+                Arrays.fill(a, -1.5);
+
+                for (int i = 0; i < n; i++)
+                {
+                    double x = keys[i] / 4.0;
+                    if (pattern.equals("random") && random.nextInt(20) == 0)
+                    {
+                        x = random.nextBoolean() ? Double.NaN : (random.nextBoolean() ? 0.0 : -0.0);
+                    }
+                    a[MARGIN + i] = x;
+                }
+
+                double[] expected = a.clone();
+                Arrays.sort(expected, MARGIN, MARGIN + n);
+
+                for (int k = 0; k < kernels.length; k++)
+                {
+                    double[] b = a.clone();
+                    kernels[k].sort(b, MARGIN, MARGIN + n);
+                    assertArrayEquals(expected, b, names[k] + "(double[]) " + pattern + " n=" + n);
+                }
+            }
+        }
+    }
+
+    @Test
+    void longKernels()
+    {
+        LongKernel[] kernels = {ArraySorts::mergeSort, ArraySorts::quickSort, ArraySorts::heapSort};
+        String[] names = {"mergeSort", "quickSort", "heapSort"};
+        Random random = new Random(203);
+
+        for (int n : SortChecks.SIZES)
+        {
+            for (String pattern : SortChecks.PATTERNS)
+            {
+                int[] keys = SortChecks.keys(n, pattern, random);
+                long[] a = new long[n + 2 * MARGIN];
+                Arrays.fill(a, Long.MIN_VALUE);
+
+                for (int i = 0; i < n; i++)
+                {
+                    // spread over the full range so sign and overflow bugs show up
+                    a[MARGIN + i] = keys[i] * 0x9E3779B97F4AL;
+                }
+
+                long[] expected = a.clone();
+                Arrays.sort(expected, MARGIN, MARGIN + n);
+
+                for (int k = 0; k < kernels.length; k++)
+                {
+                    long[] b = a.clone();
+                    kernels[k].sort(b, MARGIN, MARGIN + n);
+                    assertArrayEquals(expected, b, names[k] + "(long[]) " + pattern + " n=" + n);
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // int[] permutation kernels
+    // ------------------------------------------------------------
+
+    @Test
+    void permutationKernels()
+    {
+        PermutationKernel[] kernels = {ArraySorts::mergeSort, ArraySorts::quickSort, ArraySorts::heapSort};
+        String[] names = {"mergeSort", "quickSort", "heapSort"};
+        Random random = new Random(204);
+
+        for (int n : SortChecks.SIZES)
+        {
+            for (String pattern : SortChecks.PATTERNS)
+            {
+                int[] keys = SortChecks.keys(n, pattern, random);
+                ArraySorts.IndexComparator c = (i, j) -> Integer.compare(keys[i], keys[j]);
+
+                for (int k = 0; k < kernels.length; k++)
+                {
+                    // perm[MARGIN + i] = i inside the slice, -1 in the margins
+                    int[] perm = new int[n + 2 * MARGIN];
+                    Arrays.fill(perm, -1);
+                    for (int i = 0; i < n; i++)
+                    {
+                        perm[MARGIN + i] = i;
+                    }
+
+                    kernels[k].sort(perm, MARGIN, MARGIN + n, c);
+
+                    String label = names[k] + "(int[]) " + pattern + " n=" + n;
+                    for (int i = 0; i < MARGIN; i++)
+                    {
+                        assertEquals(-1, perm[i], label + ": margin changed");
+                        assertEquals(-1, perm[MARGIN + n + i], label + ": margin changed");
+                    }
+
+                    boolean[] seen = new boolean[n];
+                    for (int i = MARGIN; i < MARGIN + n; i++)
+                    {
+                        assertTrue(perm[i] >= 0 && perm[i] < n, label + ": index out of range");
+                        assertFalse(seen[perm[i]], label + ": index repeated");
+                        seen[perm[i]] = true;
+                    }
+
+                    for (int i = MARGIN + 1; i < MARGIN + n; i++)
+                    {
+                        assertTrue(keys[perm[i - 1]] <= keys[perm[i]], label + ": not sorted at " + i);
+
+                        // only the merge sort is stable
+                        if (k == 0 && keys[perm[i - 1]] == keys[perm[i]])
+                        {
+                            assertTrue(perm[i - 1] < perm[i], label + ": equal keys out of input order");
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * @file: SortChecks.java
+ * @description: Inputs and assertions shared by the sort tests. Items carry
+ *               a key and their input position, so a result can be compared
+ *               against Arrays.sort (a stable reference sort): by key for
+ *               every sort, and position by position for the stable ones.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.Random;
+
+final class SortChecks
+{
+    static final int[] SIZES = {0, 1, 2, 3, 7, 16, 17, 100, 1000, 5000};
+    static final String[] PATTERNS = {"random", "sorted", "reversed", "few"};
+
+    private SortChecks()
+    {
+    }
+
+    // Key plus input position; equal keys compare equal, so the id shows
+    // whether a sort kept them in order
+    static final class Item implements Comparable<Item>
+    {
+        final int key;
+        final int id;
+
+        Item(int key, int id)
+        {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Item other)
+        {
+            return Integer.compare(key, other.key);
+        }
+
+        @Override
+        public String toString()
+        {
+            return key + "#" + id;
+        }
+    }
+
+    static int[] keys(int n, String pattern, Random random)
+    {
+        int[] keys = new int[n];
+
+        for (int i = 0; i < n; i++)
+        {
+            switch (pattern)
+            {
+                case "sorted":
+                    keys[i] = i;
+                    break;
+                case "reversed":
+                    keys[i] = n - i;
+                    break;
+                case "few":
+                    keys[i] = random.nextInt(4);
+                    break;
+                default:
+                    keys[i] = random.nextInt(2 * n + 1) - n;
+                    break;
+            }
+        }
+
+        return keys;
+    }
+
+    // keys as Items with ids 0, 1, 2, ...
+    static Item[] items(int[] keys)
+    {
+        Item[] items = new Item[keys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            items[i] = new Item(keys[i], i);
+        }
+        return items;
+    }
+
+    // actual must hold the same items as input, in the reference order
+    // when stable is set and in the reference key order otherwise
+    static void assertSorted(Item[] input, Item[] actual, boolean stable, String label)
+    {
+        Item[] expected = input.clone();
+        Arrays.sort(expected);
+        assertEquals(expected.length, actual.length, label + ": length");
+
+        int[] expectedKeys = new int[expected.length];
+        int[] actualKeys = new int[actual.length];
+        for (int i = 0; i < actual.length; i++)
+        {
+            expectedKeys[i] = expected[i].key;
+            actualKeys[i] = actual[i].key;
+        }
+        assertArrayEquals(expectedKeys, actualKeys, label + ": keys out of order");
+
+        if (stable)
+        {
+            for (int i = 0; i < actual.length; i++)
+            {
+                assertSame(expected[i], actual[i], label + ": equal keys out of input order at " + i);
+            }
+            return;
+        }
+
+        // same multiset: every input id appears exactly once
+        boolean[] seen = new boolean[input.length];
+        for (Item item : actual)
+        {
+            assertSame(input[item.id], item, label + ": foreign element " + item);
+            assertFalse(seen[item.id], label + ": duplicated element " + item);
+            seen[item.id] = true;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * @file: SortEnginesTest.java
+ * @description: Checks the engines added beside the original five sorts
+ *               against Arrays.sort as the reference: IntroSort (fat and
+ *               dual-pivot), AdaptiveMergeSort, MsdRadixSort, SampleSort,
+ *               ParallelTranspositionSort and TopK. Stable engines (and
+ *               heapTopK) must match the reference element for element; the
+ *               rest must match its key order and return a permutation of
+ *               the input.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SortEnginesTest
+{
+    private interface Engine
+    {
+        void sort(SortChecks.Item[] a);
+    }
+
+    @Test
+    void introSort()
+    {
+        check("IntroSort.sort", false, SortChecks.SIZES, a -> IntroSort.sort(a, 0, a.length));
+    }
+
+    @Test
+    void dualPivotSort()
+    {
+        check("IntroSort.dualPivotSort", false, SortChecks.SIZES, a -> IntroSort.dualPivotSort(a, 0, a.length));
+    }
+
+    @Test
+    void adaptiveMergeSort()
+    {
+        check("AdaptiveMergeSort", true, SortChecks.SIZES, a -> AdaptiveMergeSort.sort(a, 0, a.length));
+    }
+
+    // Large enough that four threads each get their own slice
+    @Test
+    void sampleSort()
+    {
+        int[] sizes = {0, 1, 100, 5000, 40000};
+        check("SampleSort quick 1", false, sizes, a -> SampleSort.sort(a, 1, false));
+        check("SampleSort quick 4", false, sizes, a -> SampleSort.sort(a, 4, false));
+        check("SampleSort heap 4", false, sizes, a -> SampleSort.sort(a, 4, true));
+    }
+
+    // Both engines only ever swap or merge neighbours in order, so they
+    // are stable; sizes stay small because the phase engine is quadratic
+    @Test
+    void parallelTranspositionSort()
+    {
+        int[] sizes = {0, 1, 2, 3, 7, 100, 1000, 3000};
+        check("phaseSort 1", true, sizes, a -> ParallelTranspositionSort.phaseSort(a, 1));
+        check("phaseSort 4", true, sizes, a -> ParallelTranspositionSort.phaseSort(a, 4));
+        check("blockSort 1", true, sizes, a -> ParallelTranspositionSort.blockSort(a, 1));
+        check("blockSort 4", true, sizes, a -> ParallelTranspositionSort.blockSort(a, 4));
+    }
+
+    private static void check(String name, boolean stable, int[] sizes, Engine engine)
+    {
+        Random random = new Random(name.hashCode());
+
+        for (int n : sizes)
+        {
+            for (String pattern : SortChecks.PATTERNS)
+            {
+                SortChecks.Item[] input = SortChecks.items(SortChecks.keys(n, pattern, random));
+                SortChecks.Item[] a = input.clone();
+                engine.sort(a);
+                SortChecks.assertSorted(input, a, stable, name + " " + pattern + " n=" + n);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Strings
+    // ------------------------------------------------------------
+
+    // Shared prefixes, empty strings, prefixes of each other and chars
+    // above 0xFF, so every digit position and end-of-string case is hit
+    @Test
+    void msdRadixSort()
+    {
+        String[] alphabet = {"", "a", "ab", "abc", "b", "\u00e9", "\u4e2d", "Z", " "};
+        Random random = new Random(205);
+
+        for (int n : new int[] {0, 1, 2, 11, 12, 13, 500, 513, 5000, 20000})
+        {
+            String[] input = new String[n];
+            for (int i = 0; i < n; i++)
+            {
+                StringBuilder sb = new StringBuilder("common-prefix-".substring(0, random.nextInt(15)));
+                int parts = random.nextInt(4);
+                for (int p = 0; p < parts; p++)
+                {
+                    sb.append(alphabet[random.nextInt(alphabet.length)]);
+                }
+                input[i] = sb.toString();
+            }
+
+            String[] expected = input.clone();
+            Arrays.sort(expected);
+
+            String[] msd = input.clone();
+            MsdRadixSort.sort(msd, 0, n);
+            assertArrayEquals(expected, msd, "MsdRadixSort.sort n=" + n);
+
+            String[] multikey = input.clone();
+            MsdRadixSort.multikeySort(multikey, 0, n);
+            assertArrayEquals(expected, multikey, "MsdRadixSort.multikeySort n=" + n);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Top K
+    // ------------------------------------------------------------
+
+    // The result must hold the keys of the first k elements of the sorted
+    // input, in order
+    @Test
+    void topK()
+    {
+        Random random = new Random(206);
+
+        for (int n : new int[] {0, 1, 10, 1000})
+        {
+            for (String pattern : SortChecks.PATTERNS)
+            {
+                SortChecks.Item[] input = SortChecks.items(SortChecks.keys(n, pattern, random));
+                SortChecks.Item[] sorted = input.clone();
+                Arrays.sort(sorted);
+
+                for (int k : new int[] {0, 1, 5, n / 2, n, n + 3})
+                {
+                    int size = Math.min(k, n);
+                    int[] expected = keysOf(Arrays.asList(sorted).subList(0, size));
+                    String label = pattern + " n=" + n + " k=" + k;
+
+                    // the heap strategy is stable: exactly the stable sort's prefix
+                    ArrayList<SortChecks.Item> heap = TopK.heapTopK(Arrays.asList(input).iterator(), k);
+                    assertEquals(size, heap.size(), "heapTopK " + label + ": size");
+                    for (int i = 0; i < size; i++)
+                    {
+                        assertSame(sorted[i], heap.get(i), "heapTopK " + label + " at " + i);
+                    }
+
+                    // select leaves the order of equal keys unspecified
+
+                    ArrayList<SortChecks.Item> select = new ArrayList<>(Arrays.asList(input));
+                    TopK.selectTopK(select, k);
+                    assertEquals(size, select.size(), "selectTopK " + label + ": size");
+                    assertArrayEquals(expected, keysOf(select), "selectTopK " + label);
+                }
+            }
+        }
+    }
+
+    private static int[] keysOf(List<SortChecks.Item> items)
+    {
+        int[] keys = new int[items.size()];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = items.get(i).key;
+        }
+        return keys;
+    }
+}
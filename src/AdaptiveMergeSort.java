@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * @file: AdaptiveMergeSort.java
+ * @description: Natural merge sort. The input is scanned for ascending runs
+ *               and strictly descending runs (which are reversed in place),
+ *               short runs are extended to MIN_RUN with binary insertion
+ *               sort, and runs are merged as soon as the run below is no
+ *               more than twice as long, so merges stay balanced and work on
+ *               data that was just touched. Each merge first trims the
+ *               elements already in place and gallops once one side keeps
+ *               winning.
+ *               Sorted and reversed inputs are a single run and finish in
+ *               linear time. The sort is stable, so results match
+ *               Proj3.mergeSort. The sort does not recurse; the depth it
+ *               reports to Counters is the height of the pending-run stack.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.Arrays;
+
+public final class AdaptiveMergeSort<T extends Comparable<? super T>>
+{
+    // Runs shorter than this are extended with binary insertion sort
+    private static final int MIN_RUN = 32;
+
+    // Consecutive wins by one side before the merge gallops
+    private static final int MIN_GALLOP = 7;
+
+    private final T[] a;
+    private final Counters c;
+
+    // holds the left run of the merge in progress; grown on demand
+    private T[] tmp;
+
+    // pending runs, bottom first; each is more than twice the length of
+    // the one above it, so 32 entries cover any int-sized input
+    private final int[] start = new int[32];
+    private final int[] length = new int[32];
+    private int depth;
+
+    private AdaptiveMergeSort(T[] a, int n, Counters c)
+    {
+        this.a = a;
+        this.c = c;
+        this.tmp = Arrays.copyOf(a, Math.min(n, 256));
+        c.buffer((long) tmp.length * Counters.REFERENCE_BYTES);
+    }
+
+    public static <T extends Comparable<? super T>> int sort(T[] a, int from, int to)
+    {
+        return sort(a, from, to, Counters.NONE);
+    }
+
+    // Sorts a[from, to); returns the number of natural runs found
+    public static <T extends Comparable<? super T>> int sort(T[] a, int from, int to, Counters c)
+    {
+        int n = to - from;
+        if (n < 2)
+        {
+            return n;
+        }
+
+        AdaptiveMergeSort<T> sorter = new AdaptiveMergeSort<>(a, n, c);
+        int runs = 0;
+
+        for (int lo = from; lo < to; )
+        {
+            int end = makeAscendingRun(a, lo, to, c);
+            runs++;
+
+            if (end - lo < MIN_RUN)
+            {
+                int forced = Math.min(to, lo + MIN_RUN);
+                binaryInsertionSort(a, lo, forced, end, c);
+                end = forced;
+            }
+
+            sorter.push(lo, end - lo);
+            lo = end;
+        }
+
+        while (sorter.depth > 1)
+        {
+            sorter.mergeTop();
+        }
+
+        return runs;
+    }
+
+    // Pushes a run and merges while the run below is at most twice as long
+    private void push(int lo, int len)
+    {
+        start[depth] = lo;
+        length[depth] = len;
+        depth++;
+        c.depth(depth - 1);
+
+        while (depth > 1 && length[depth - 2] <= 2 * length[depth - 1])
+        {
+            mergeTop();
+        }
+    }
+
+    // Merges the top two pending runs into one
+    private void mergeTop()
+    {
+        int lo = start[depth - 2];
+        int mid = start[depth - 1];
+        int hi = mid + length[depth - 1];
+
+        merge(lo, mid, hi);
+        length[depth - 2] = hi - lo;
+        depth--;
+    }
+
+    // ------------------------------------------------------------
+    // Runs
+    // ------------------------------------------------------------
+
+    // End of the run starting at lo; a descending run is reversed so the
+    // result is always ascending. Only strictly descending runs qualify,
+    // so reversing never reorders equal elements.
+    private static <T extends Comparable<? super T>> int makeAscendingRun(T[] a, int lo, int to, Counters c)
+    {
+        int end = lo + 1;
+        if (end == to)
+        {
+            return end;
+        }
+
+        if (ArraySorts.compare(a[end], a[lo], c) < 0)
+        {
+            while (end < to && ArraySorts.compare(a[end], a[end - 1], c) < 0)
+            {
+                end++;
+            }
+
+            for (int i = lo, j = end - 1; i < j; i++, j--)
+            {
+                ArraySorts.swap(a, i, j, c);
+            }
+        }
+        else
+        {
+            while (end < to && ArraySorts.compare(a[end], a[end - 1], c) >= 0)
+            {
+                end++;
+            }
+        }
+
+        return end;
+    }
+
+    // Sorts a[lo, hi) given that a[lo, sorted) is already in order
+    private static <T extends Comparable<? super T>> void binaryInsertionSort(
+            T[] a, int lo, int hi, int sorted, Counters c)
+    {
+        for (int i = sorted; i < hi; i++)
+        {
+            T x = a[i];
+
+            // insert after any equal elements to stay stable
+            int pos = binarySearch(a, lo, i, x, true, c);
+            System.arraycopy(a, pos, a, pos + 1, i - pos);
+            a[pos] = x;
+            c.move(i - pos + 1);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Merge
+    // ------------------------------------------------------------
+
+    // Merges the adjacent sorted runs a[lo, mid) and a[mid, hi)
+    private void merge(int lo, int mid, int hi)
+    {
+        // left elements no greater than the right run's first are in place,
+        // and so are right elements no smaller than the left run's last
+        lo = firstGreater(a, lo, mid, a[mid], c);
+        hi = firstNotLess(a, mid, hi, a[mid - 1], c);
+        if (lo == mid || mid == hi)
+        {
+            return;
+        }
+
+        int leftLen = mid - lo;
+        if (tmp.length < leftLen)
+        {
+            tmp = Arrays.copyOf(tmp, Math.max(leftLen, 2 * tmp.length));
+            c.buffer((long) tmp.length * Counters.REFERENCE_BYTES);
+        }
+        System.arraycopy(a, lo, tmp, 0, leftLen);
+
+        int i = 0;
+        int j = mid;
+        int k = lo;
+        int leftWins = 0;
+        int rightWins = 0;
+
+        while (i < leftLen && j < hi)
+        {
+            // ties go to the left run, which keeps the sort stable
+            if (ArraySorts.compare(a[j], tmp[i], c) < 0)
+            {
+                a[k++] = a[j++];
+                leftWins = 0;
+
+                if (++rightWins >= MIN_GALLOP)
+                {
+                    int end = firstNotLess(a, j, hi, tmp[i], c);
+                    System.arraycopy(a, j, a, k, end - j);
+                    k += end - j;
+                    j = end;
+                    rightWins = 0;
+                }
+            }
+            else
+            {
+                a[k++] = tmp[i++];
+                rightWins = 0;
+
+                if (++leftWins >= MIN_GALLOP && i < leftLen)
+                {
+                    int end = firstGreater(tmp, i, leftLen, a[j], c);
+                    System.arraycopy(tmp, i, a, k, end - i);
+                    k += end - i;
+                    i = end;
+                    leftWins = 0;
+                }
+            }
+        }
+
+        // whatever is left of the right run is already in place
+        System.arraycopy(tmp, i, a, k, leftLen - i);
+        c.move(leftLen + (k - lo) + (leftLen - i));
+    }
+
+    // ------------------------------------------------------------
+    // Galloping search
+    // ------------------------------------------------------------
+
+    // First index in the sorted x[lo, hi) whose element is greater than key.
+    // Probes lo, lo + 1, lo + 3, lo + 7, ... and then binary searches the
+    // last gap, so an answer near lo costs only a few comparisons.
+    private static <T extends Comparable<? super T>> int firstGreater(T[] x, int lo, int hi, T key, Counters c)
+    {
+        int probe = lo;
+        int step = 1;
+
+        while (probe < hi && ArraySorts.compare(x[probe], key, c) <= 0)
+        {
+            lo = probe + 1;
+            probe += step;
+            step <<= 1;
+        }
+
+        return binarySearch(x, lo, Math.min(probe, hi), key, true, c);
+    }
+
+    // First index in the sorted x[lo, hi) whose element is not less than key
+    private static <T extends Comparable<? super T>> int firstNotLess(T[] x, int lo, int hi, T key, Counters c)
+    {
+        int probe = lo;
+        int step = 1;
+
+        while (probe < hi && ArraySorts.compare(x[probe], key, c) < 0)
+        {
+            lo = probe + 1;
+            probe += step;
+            step <<= 1;
+        }
+
+        return binarySearch(x, lo, Math.min(probe, hi), key, false, c);
+    }
+
+    // First index in x[lo, hi) past every element less than key, or past
+    // every element no greater than key when orEqual is set
+    private static <T extends Comparable<? super T>> int binarySearch(
+            T[] x, int lo, int hi, T key, boolean orEqual, Counters c)
+    {
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            int cmp = ArraySorts.compare(x[mid], key, c);
+
+            if (cmp < 0 || (orEqual && cmp == 0))
+            {
+                lo = mid + 1;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+}
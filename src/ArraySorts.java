@@ -0,0 +1,886 @@
+/*******************************************************************************
+ * @file: ArraySorts.java
+ * @description: Array-backed versions of the Proj3 sorting algorithms. The
+ *               kernels work directly on T[] slices a[from, to) so the inner
+ *               loops skip ArrayList range checks and indirection. The same
+ *               algorithms are also provided for double[] and long[] keys
+ *               (e.g. HorrorMovie ratings) so numeric sorts never box, and
+ *               for int[] permutations ordered by an index comparator. The
+ *               generic and permutation kernels report their work to an
+ *               optional Counters.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.Arrays;
+
+public final class ArraySorts
+{
+    private ArraySorts()
+    {
+    }
+
+    // ------------------------------------------------------------
+    // Merge Sort
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> void mergeSort(T[] a, int from, int to)
+    {
+        mergeSort(a, from, to, Counters.NONE);
+    }
+
+    // Stable merge sort of a[from, to) using one auxiliary buffer per call,
+    // sized to the slice; aux[i - base] stages a[i]
+    public static <T extends Comparable<? super T>> void mergeSort(T[] a, int from, int to, Counters c)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        T[] aux = Arrays.copyOfRange(a, from, to);
+        c.buffer((long) aux.length * Counters.REFERENCE_BYTES);
+        mergeSort(a, aux, from, to, from, c, 0);
+    }
+
+    private static <T extends Comparable<? super T>> void mergeSort(
+            T[] a, T[] aux, int from, int to, int base, Counters c, int level)
+    {
+        c.depth(level);
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        int mid = from + (to - from + 1) / 2;
+        mergeSort(a, aux, from, mid, base, c, level + 1);
+        mergeSort(a, aux, mid, to, base, c, level + 1);
+        merge(a, aux, from, mid, to, base, c);
+    }
+
+    // Merges a[from, mid) and a[mid, to), staging the left run in aux
+    static <T extends Comparable<? super T>> void merge(
+            T[] a, T[] aux, int from, int mid, int to, int base, Counters c)
+    {
+        System.arraycopy(a, from, aux, from - base, mid - from);
+
+        int i = from - base;
+        int iEnd = mid - base;
+        int j = mid;
+        int k = from;
+
+        while (i < iEnd && j < to)
+        {
+            if (compare(aux[i], a[j], c) <= 0)
+            {
+                a[k++] = aux[i++];
+            }
+            else
+            {
+                a[k++] = a[j++];
+            }
+        }
+
+        // right-run leftovers are already in place
+        while (i < iEnd)
+        {
+            a[k++] = aux[i++];
+        }
+
+        c.move((mid - from) + (k - from));
+    }
+
+    // ------------------------------------------------------------
+    // Quick Sort (Median-of-Three)
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> void quickSort(T[] a, int from, int to)
+    {
+        quickSort(a, from, to, Counters.NONE);
+    }
+
+    public static <T extends Comparable<? super T>> void quickSort(T[] a, int from, int to, Counters c)
+    {
+        quickSortInclusive(a, from, to - 1, c, 0);
+    }
+
+    private static <T extends Comparable<? super T>> void quickSortInclusive(
+            T[] a, int left, int right, Counters c, int level)
+    {
+        c.depth(level);
+
+        while (left < right)
+        {
+            if (right - left < 2)
+            {
+                if (compare(a[left], a[right], c) > 0)
+                {
+                    swap(a, left, right, c);
+                }
+                return;
+            }
+
+            // recurse on the smaller side, loop on the larger one
+            int pivotIndex = partition(a, left, right, c);
+            if (pivotIndex - left < right - pivotIndex)
+            {
+                quickSortInclusive(a, left, pivotIndex - 1, c, level + 1);
+                left = pivotIndex + 1;
+            }
+            else
+            {
+                quickSortInclusive(a, pivotIndex + 1, right, c, level + 1);
+                right = pivotIndex - 1;
+            }
+        }
+    }
+
+    // Same median-of-three partition as Proj3.partition; requires right - left >= 2
+    public static <T extends Comparable<? super T>> int partition(T[] a, int left, int right, Counters c)
+    {
+        int mid = left + (right - left) / 2;
+
+        if (compare(a[left], a[mid], c) > 0)
+        {
+            swap(a, left, mid, c);
+        }
+
+        if (compare(a[left], a[right], c) > 0)
+        {
+            swap(a, left, right, c);
+        }
+
+        if (compare(a[mid], a[right], c) > 0)
+        {
+            swap(a, mid, right, c);
+        }
+
+        swap(a, mid, right - 1, c);
+        T pivot = a[right - 1];
+
+        int i = left;
+        int j = right - 1;
+
+        while (true)
+        {
+            while (compare(a[++i], pivot, c) < 0) { }
+            while (compare(a[--j], pivot, c) > 0) { }
+
+            if (i >= j)
+            {
+                break;
+            }
+
+            swap(a, i, j, c);
+        }
+
+        swap(a, i, right - 1, c);
+        return i;
+    }
+
+    static <T> void swap(T[] a, int i, int j)
+    {
+        T temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+
+    // ------------------------------------------------------------
+    // Counted primitives
+    // ------------------------------------------------------------
+
+    // x.compareTo(y), reported to c
+    static <T extends Comparable<? super T>> int compare(T x, T y, Counters c)
+    {
+        c.compare();
+        return x.compareTo(y);
+    }
+
+    static <T> void swap(T[] a, int i, int j, Counters c)
+    {
+        c.swap();
+        swap(a, i, j);
+    }
+
+    // ------------------------------------------------------------
+    // Heap Sort (max-heap)
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> void heapSort(T[] a, int from, int to)
+    {
+        heapSort(a, from, to, Counters.NONE);
+    }
+
+    public static <T extends Comparable<? super T>> void heapSort(T[] a, int from, int to, Counters c)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        int right = to - 1;
+
+        for (int i = from + ((right - from) - 1) / 2; i >= from; i--)
+        {
+            percolateDown(a, i, from, right, c);
+        }
+
+        for (int end = right; end > from; end--)
+        {
+            swap(a, from, end, c);
+            percolateDown(a, from, from, end - 1, c);
+        }
+    }
+
+    // Sifts a[index] down by moving children up into a hole
+    private static <T extends Comparable<? super T>> void percolateDown(
+            T[] a, int index, int leftBound, int rightBound, Counters c)
+    {
+        T x = a[index];
+        int moves = 1;
+
+        while (true)
+        {
+            int child = leftBound + 2 * (index - leftBound) + 1;
+
+            if (child > rightBound)
+            {
+                break;
+            }
+
+            if (child < rightBound && compare(a[child + 1], a[child], c) > 0)
+            {
+                child++;
+            }
+
+            if (compare(a[child], x, c) <= 0)
+            {
+                break;
+            }
+
+            a[index] = a[child];
+            index = child;
+            moves++;
+        }
+
+        a[index] = x;
+        c.move(moves);
+    }
+
+    // ------------------------------------------------------------
+    // Bubble Sort
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> int bubbleSort(T[] a, int from, int to)
+    {
+        return bubbleSort(a, from, to, Counters.NONE);
+    }
+
+    // Returns the number of comparisons, counted as in Proj3.bubbleSort
+    public static <T extends Comparable<? super T>> int bubbleSort(T[] a, int from, int to, Counters c)
+    {
+        int comparisons = 0;
+        boolean swapped = true;
+        int size = to - from;
+
+        for (int pass = 0; pass < size - 1 && swapped; pass++)
+        {
+            swapped = false;
+            int last = to - 1 - pass;
+
+            for (int i = from; i < last; i++)
+            {
+                comparisons++;
+
+                T x = a[i];
+                T y = a[i + 1];
+
+                if (compare(x, y, c) > 0)
+                {
+                    a[i] = y;
+                    a[i + 1] = x;
+                    c.swap();
+                    swapped = true;
+                }
+            }
+        }
+
+        return comparisons;
+    }
+
+    // ------------------------------------------------------------
+    // Odd-Even Transposition Sort
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> int transpositionSort(T[] a, int from, int to)
+    {
+        return transpositionSort(a, from, to, Counters.NONE);
+    }
+
+    // Returns the number of parallel comparison steps, counted as in
+    // Proj3.transpositionSort
+    public static <T extends Comparable<? super T>> int transpositionSort(T[] a, int from, int to, Counters c)
+    {
+        int comparisons = 0;
+        int size = to - from;
+        boolean sorted = false;
+
+        while (!sorted)
+        {
+            sorted = true;
+
+            if (size > 2)
+            {
+                comparisons++;
+            }
+
+            for (int i = from + 1; i < to - 1; i += 2)
+            {
+                if (compare(a[i], a[i + 1], c) > 0)
+                {
+                    swap(a, i, i + 1, c);
+                    sorted = false;
+                }
+            }
+
+            if (size > 1)
+            {
+                comparisons++;
+            }
+
+            for (int i = from; i < to - 1; i += 2)
+            {
+                if (compare(a[i], a[i + 1], c) > 0)
+                {
+                    swap(a, i, i + 1, c);
+                    sorted = false;
+                }
+            }
+        }
+
+        return comparisons;
+    }
+
+    // ------------------------------------------------------------
+    // double[] kernels (ordered like Double.compare)
+    // ------------------------------------------------------------
+
+    public static void mergeSort(double[] a, int from, int to)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        double[] aux = new double[to - from];
+        mergeSort(a, aux, from, to, from);
+    }
+
+    private static void mergeSort(double[] a, double[] aux, int from, int to, int base)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        int mid = from + (to - from + 1) / 2;
+        mergeSort(a, aux, from, mid, base);
+        mergeSort(a, aux, mid, to, base);
+
+        if (Double.compare(a[mid - 1], a[mid]) <= 0)
+        {
+            return;
+        }
+
+        System.arraycopy(a, from, aux, from - base, mid - from);
+
+        int i = from - base;
+        int iEnd = mid - base;
+        int j = mid;
+        int k = from;
+
+        while (i < iEnd && j < to)
+        {
+            a[k++] = (Double.compare(aux[i], a[j]) <= 0) ? aux[i++] : a[j++];
+        }
+
+        while (i < iEnd)
+        {
+            a[k++] = aux[i++];
+        }
+    }
+
+    public static void quickSort(double[] a, int from, int to)
+    {
+        int left = from;
+        int right = to - 1;
+
+        while (right - left >= 2)
+        {
+            int mid = left + (right - left) / 2;
+
+            if (Double.compare(a[left], a[mid]) > 0) swap(a, left, mid);
+            if (Double.compare(a[left], a[right]) > 0) swap(a, left, right);
+            if (Double.compare(a[mid], a[right]) > 0) swap(a, mid, right);
+
+            swap(a, mid, right - 1);
+            double pivot = a[right - 1];
+
+            int i = left;
+            int j = right - 1;
+
+            while (true)
+            {
+                while (Double.compare(a[++i], pivot) < 0) { }
+                while (Double.compare(a[--j], pivot) > 0) { }
+
+                if (i >= j)
+                {
+                    break;
+                }
+
+                swap(a, i, j);
+            }
+
+            swap(a, i, right - 1);
+
+            if (i - left < right - i)
+            {
+                quickSort(a, left, i);
+                left = i + 1;
+            }
+            else
+            {
+                quickSort(a, i + 1, right + 1);
+                right = i - 1;
+            }
+        }
+
+        if (left < right && Double.compare(a[left], a[right]) > 0)
+        {
+            swap(a, left, right);
+        }
+    }
+
+    public static void heapSort(double[] a, int from, int to)
+    {
+        int right = to - 1;
+
+        for (int i = from + ((right - from) - 1) / 2; i >= from; i--)
+        {
+            percolateDown(a, i, from, right);
+        }
+
+        for (int end = right; end > from; end--)
+        {
+            swap(a, from, end);
+            percolateDown(a, from, from, end - 1);
+        }
+    }
+
+    private static void percolateDown(double[] a, int index, int leftBound, int rightBound)
+    {
+        double x = a[index];
+
+        while (true)
+        {
+            int child = leftBound + 2 * (index - leftBound) + 1;
+
+            if (child > rightBound)
+            {
+                break;
+            }
+
+            if (child < rightBound && Double.compare(a[child + 1], a[child]) > 0)
+            {
+                child++;
+            }
+
+            if (Double.compare(a[child], x) <= 0)
+            {
+                break;
+            }
+
+            a[index] = a[child];
+            index = child;
+        }
+
+        a[index] = x;
+    }
+
+    // Reverses a[from, to); turns an ascending rating sort into a descending one
+    public static void reverse(double[] a, int from, int to)
+    {
+        for (int i = from, j = to - 1; i < j; i++, j--)
+        {
+            swap(a, i, j);
+        }
+    }
+
+    static void swap(double[] a, int i, int j)
+    {
+        double temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+
+    // ------------------------------------------------------------
+    // long[] kernels
+    // ------------------------------------------------------------
+
+    public static void mergeSort(long[] a, int from, int to)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        long[] aux = new long[to - from];
+        mergeSort(a, aux, from, to, from);
+    }
+
+    private static void mergeSort(long[] a, long[] aux, int from, int to, int base)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        int mid = from + (to - from + 1) / 2;
+        mergeSort(a, aux, from, mid, base);
+        mergeSort(a, aux, mid, to, base);
+
+        if (a[mid - 1] <= a[mid])
+        {
+            return;
+        }
+
+        System.arraycopy(a, from, aux, from - base, mid - from);
+
+        int i = from - base;
+        int iEnd = mid - base;
+        int j = mid;
+        int k = from;
+
+        while (i < iEnd && j < to)
+        {
+            a[k++] = (aux[i] <= a[j]) ? aux[i++] : a[j++];
+        }
+
+        while (i < iEnd)
+        {
+            a[k++] = aux[i++];
+        }
+    }
+
+    public static void quickSort(long[] a, int from, int to)
+    {
+        int left = from;
+        int right = to - 1;
+
+        while (right - left >= 2)
+        {
+            int mid = left + (right - left) / 2;
+
+            if (a[left] > a[mid]) swap(a, left, mid);
+            if (a[left] > a[right]) swap(a, left, right);
+            if (a[mid] > a[right]) swap(a, mid, right);
+
+            swap(a, mid, right - 1);
+            long pivot = a[right - 1];
+
+            int i = left;
+            int j = right - 1;
+
+            while (true)
+            {
+                while (a[++i] < pivot) { }
+                while (a[--j] > pivot) { }
+
+                if (i >= j)
+                {
+                    break;
+                }
+
+                swap(a, i, j);
+            }
+
+            swap(a, i, right - 1);
+
+            if (i - left < right - i)
+            {
+                quickSort(a, left, i);
+                left = i + 1;
+            }
+            else
+            {
+                quickSort(a, i + 1, right + 1);
+                right = i - 1;
+            }
+        }
+
+        if (left < right && a[left] > a[right])
+        {
+            swap(a, left, right);
+        }
+    }
+
+    public static void heapSort(long[] a, int from, int to)
+    {
+        int right = to - 1;
+
+        for (int i = from + ((right - from) - 1) / 2; i >= from; i--)
+        {
+            percolateDown(a, i, from, right);
+        }
+
+        for (int end = right; end > from; end--)
+        {
+            swap(a, from, end);
+            percolateDown(a, from, from, end - 1);
+        }
+    }
+
+    private static void percolateDown(long[] a, int index, int leftBound, int rightBound)
+    {
+        long x = a[index];
+
+        while (true)
+        {
+            int child = leftBound + 2 * (index - leftBound) + 1;
+
+            if (child > rightBound)
+            {
+                break;
+            }
+
+            if (child < rightBound && a[child + 1] > a[child])
+            {
+                child++;
+            }
+
+            if (a[child] <= x)
+            {
+                break;
+            }
+
+            a[index] = a[child];
+            index = child;
+        }
+
+        a[index] = x;
+    }
+
+    static void swap(long[] a, int i, int j)
+    {
+        long temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+
+    // ------------------------------------------------------------
+    // int[] permutation kernels (ordered by an index comparator)
+    // ------------------------------------------------------------
+
+    // Orders two record indices; used to sort permutations of columnar data
+    public interface IndexComparator
+    {
+        int compare(int i, int j);
+    }
+
+    // Stable merge sort of the indices in perm[from, to)
+    public static void mergeSort(int[] perm, int from, int to, IndexComparator c)
+    {
+        mergeSort(perm, from, to, c, Counters.NONE);
+    }
+
+    public static void mergeSort(int[] perm, int from, int to, IndexComparator c, Counters counters)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        int[] aux = new int[to - from];
+        counters.buffer((long) aux.length * Integer.BYTES);
+        mergeSort(perm, aux, from, to, from, c, counters, 0);
+    }
+
+    private static void mergeSort(
+            int[] a, int[] aux, int from, int to, int base, IndexComparator c, Counters counters, int level)
+    {
+        counters.depth(level);
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        int mid = from + (to - from + 1) / 2;
+        mergeSort(a, aux, from, mid, base, c, counters, level + 1);
+        mergeSort(a, aux, mid, to, base, c, counters, level + 1);
+
+        counters.compare();
+        if (c.compare(a[mid - 1], a[mid]) <= 0)
+        {
+            return;
+        }
+
+        System.arraycopy(a, from, aux, from - base, mid - from);
+
+        int i = from - base;
+        int iEnd = mid - base;
+        int j = mid;
+        int k = from;
+
+        while (i < iEnd && j < to)
+        {
+            counters.compare();
+            a[k++] = (c.compare(aux[i], a[j]) <= 0) ? aux[i++] : a[j++];
+        }
+
+        while (i < iEnd)
+        {
+            a[k++] = aux[i++];
+        }
+
+        counters.move((mid - from) + (k - from));
+    }
+
+    public static void quickSort(int[] a, int from, int to, IndexComparator c)
+    {
+        quickSort(a, from, to, c, Counters.NONE);
+    }
+
+    public static void quickSort(int[] a, int from, int to, IndexComparator c, Counters counters)
+    {
+        quickSort(a, from, to, c, counters, 0);
+    }
+
+    private static void quickSort(int[] a, int from, int to, IndexComparator c, Counters counters, int level)
+    {
+        counters.depth(level);
+
+        int left = from;
+        int right = to - 1;
+
+        while (right - left >= 2)
+        {
+            int mid = left + (right - left) / 2;
+
+            if (compare(a[left], a[mid], c, counters) > 0) swap(a, left, mid, counters);
+            if (compare(a[left], a[right], c, counters) > 0) swap(a, left, right, counters);
+            if (compare(a[mid], a[right], c, counters) > 0) swap(a, mid, right, counters);
+
+            swap(a, mid, right - 1, counters);
+            int pivot = a[right - 1];
+
+            int i = left;
+            int j = right - 1;
+
+            while (true)
+            {
+                while (compare(a[++i], pivot, c, counters) < 0) { }
+                while (compare(a[--j], pivot, c, counters) > 0) { }
+
+                if (i >= j)
+                {
+                    break;
+                }
+
+                swap(a, i, j, counters);
+            }
+
+            swap(a, i, right - 1, counters);
+
+            if (i - left < right - i)
+            {
+                quickSort(a, left, i, c, counters, level + 1);
+                left = i + 1;
+            }
+            else
+            {
+                quickSort(a, i + 1, right + 1, c, counters, level + 1);
+                right = i - 1;
+            }
+        }
+
+        if (left < right && compare(a[left], a[right], c, counters) > 0)
+        {
+            swap(a, left, right, counters);
+        }
+    }
+
+    public static void heapSort(int[] a, int from, int to, IndexComparator c)
+    {
+        heapSort(a, from, to, c, Counters.NONE);
+    }
+
+    public static void heapSort(int[] a, int from, int to, IndexComparator c, Counters counters)
+    {
+        int right = to - 1;
+
+        for (int i = from + ((right - from) - 1) / 2; i >= from; i--)
+        {
+            percolateDown(a, i, from, right, c, counters);
+        }
+
+        for (int end = right; end > from; end--)
+        {
+            swap(a, from, end, counters);
+            percolateDown(a, from, from, end - 1, c, counters);
+        }
+    }
+
+    private static void percolateDown(
+            int[] a, int index, int leftBound, int rightBound, IndexComparator c, Counters counters)
+    {
+        int x = a[index];
+        int moves = 1;
+
+        while (true)
+        {
+            int child = leftBound + 2 * (index - leftBound) + 1;
+
+            if (child > rightBound)
+            {
+                break;
+            }
+
+            if (child < rightBound && compare(a[child + 1], a[child], c, counters) > 0)
+            {
+                child++;
+            }
+
+            if (compare(a[child], x, c, counters) <= 0)
+            {
+                break;
+            }
+
+            a[index] = a[child];
+            index = child;
+            moves++;
+        }
+
+        a[index] = x;
+        counters.move(moves);
+    }
+
+    static void swap(int[] a, int i, int j)
+    {
+        int temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+
+    private static int compare(int i, int j, IndexComparator c, Counters counters)
+    {
+        counters.compare();
+        return c.compare(i, j);
+    }
+
+    private static void swap(int[] a, int i, int j, Counters counters)
+    {
+        counters.swap();
+        swap(a, i, j);
+    }
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * @file: AutoSort.java
+ * @description: Input-aware algorithm selection for Proj3's "auto" mode. A
+ *               bounded sample estimates how presorted the input is
+ *               (descents between neighbours, inverted random pairs) and how
+ *               many duplicates it has, for about a thousand comparisons at
+ *               most at any N. Descents are sampled first; when they already
+ *               settle the engine the other features are skipped, because
+ *               presorted inputs have the fastest sorts and so the least room
+ *               for selection overhead. The estimates pick the engine:
+ *               adaptive merge for long natural runs either way, 3-way
+ *               introsort for heavy duplicates, MSD radix for large String
+ *               inputs, parallel merge for large inputs when there are spare
+ *               cores, and dual-pivot introsort otherwise.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public final class AutoSort
+{
+    // Largest sample per feature; bounds the selector's cost at any N
+    private static final int SAMPLES = 128;
+
+    // Neighbour pairs are checked in blocks of this many, so the descent
+    // scan walks memory sequentially
+    private static final int BLOCK = 32;
+
+    // Below this size every engine finishes in microseconds
+    private static final int SMALL = 64;
+
+    // Inputs at least this large are worth spreading across threads
+    private static final int PARALLEL_MIN = 1 << 17;
+
+    // Strings at least this large go to MSD radix sort when unsorted
+    private static final int RADIX_MIN = 1 << 13;
+
+    // Descent fraction below which natural runs average 20+ elements
+    private static final double PRESORTED = 0.05;
+
+    // Sampled duplicate fraction that favours 3-way partitioning
+    private static final double DUPLICATES = 0.25;
+
+    private AutoSort()
+    {
+    }
+
+    // Measured features and the engine they selected; inversions and
+    // duplicates are NaN when descents alone picked the engine
+    public static final class Choice
+    {
+        public final String algorithm;
+        public final int size;
+        public final double descents;
+        public final double inversions;
+        public final double duplicates;
+
+        Choice(String algorithm, int size, double descents, double inversions, double duplicates)
+        {
+            this.algorithm = algorithm;
+            this.size = size;
+            this.descents = descents;
+            this.inversions = inversions;
+            this.duplicates = duplicates;
+        }
+
+        // Semicolon-separated so it fits in one CSV column
+        @Override
+        public String toString()
+        {
+            return String.format("%s;n=%d;descents=%.3f;inversions=%.3f;duplicates=%.3f",
+                    algorithm, size, descents, inversions, duplicates);
+        }
+    }
+
+    public static <T extends Comparable<? super T>> Choice choose(ArrayList<T> a, int threads)
+    {
+        int n = a.size();
+        if (n < SMALL)
+        {
+            return new Choice("adaptive", n, 0, 0, 0);
+        }
+
+        // about n / 8 samples on small inputs so selection stays cheap
+        // next to an n log n sort
+        int samples = Math.min(SAMPLES, n / 8);
+        Random random = new Random(n);
+        double descents = descents(a, samples, random);
+
+        if (descents < PRESORTED || descents > 1 - PRESORTED)
+        {
+            // long ascending or descending runs: merged (or reversed) in near-linear time
+            return new Choice("adaptive", n, descents, Double.NaN, Double.NaN);
+        }
+
+        double inversions = inversions(a, samples, random);
+        double duplicates = duplicates(a, samples, random);
+
+        String algorithm;
+        if (duplicates > DUPLICATES)
+        {
+            algorithm = "intro";
+        }
+        else if (a.get(0) instanceof String && n >= RADIX_MIN)
+        {
+            algorithm = "msd";
+        }
+        else if (threads > 1 && n >= PARALLEL_MIN)
+        {
+            algorithm = "parallelmerge";
+        }
+        else
+        {
+            algorithm = "introdual";
+        }
+
+        return new Choice(algorithm, n, descents, inversions, duplicates);
+    }
+
+    // ------------------------------------------------------------
+    // Features
+    // ------------------------------------------------------------
+
+    // Fraction of sampled neighbours with a[i] > a[i + 1]; about the number
+    // of ascending runs divided by n
+    private static <T extends Comparable<? super T>> double descents(ArrayList<T> a, int samples, Random random)
+    {
+        int count = 0;
+        int pairs = 0;
+
+        while (pairs < samples)
+        {
+            int length = Math.min(BLOCK, samples - pairs);
+            int i = random.nextInt(a.size() - length);
+            for (int end = i + length; i < end; i++)
+            {
+                if (a.get(i).compareTo(a.get(i + 1)) > 0)
+                {
+                    count++;
+                }
+            }
+            pairs += length;
+        }
+        return (double) count / pairs;
+    }
+
+    // Fraction of sampled pairs i < j with a[i] > a[j]: 0 sorted, about 0.5
+    // random, 1 reversed
+    private static <T extends Comparable<? super T>> double inversions(ArrayList<T> a, int samples, Random random)
+    {
+        int count = 0;
+        int pairs = 0;
+
+        for (int s = 0; s < samples; s++)
+        {
+            int i = random.nextInt(a.size());
+            int j = random.nextInt(a.size());
+            if (i == j) continue;
+
+            if (a.get(Math.min(i, j)).compareTo(a.get(Math.max(i, j))) > 0)
+            {
+                count++;
+            }
+            pairs++;
+        }
+        return (pairs == 0) ? 0 : (double) count / pairs;
+    }
+
+    // Fraction of a sorted sample equal to its predecessor; positions are
+    // distinct so that small inputs do not count an element against itself
+    private static <T extends Comparable<? super T>> double duplicates(ArrayList<T> a, int samples, Random random)
+    {
+        int[] positions = new int[samples];
+        for (int s = 0; s < samples; s++)
+        {
+            positions[s] = random.nextInt(a.size());
+        }
+        Arrays.sort(positions);
+
+        ArrayList<T> sample = new ArrayList<>(samples);
+        for (int s = 0; s < samples; s++)
+        {
+            if (s == 0 || positions[s] != positions[s - 1])
+            {
+                sample.add(a.get(positions[s]));
+            }
+        }
+
+        T[] arr = Proj3.toArray(sample, 0, sample.size() - 1);
+        ArraySorts.quickSort(arr, 0, arr.length);
+
+        int equal = 0;
+        for (int i = 1; i < arr.length; i++)
+        {
+            if (arr[i - 1].compareTo(arr[i]) == 0)
+            {
+                equal++;
+            }
+        }
+        return (arr.length < 2) ? 0 : (double) equal / (arr.length - 1);
+    }
+}
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * @file: BatchSort.java
+ * @description: Sorts many files in one JVM. Every file gets its own
+ *               read-sort-write job. The jobs run on virtual threads where
+ *               the JDK has them (Java 21+) and on a small platform pool
+ *               otherwise, since they mostly block on file I/O. The CPU-bound
+ *               part of each job (parsing and sorting) is handed to a fixed
+ *               platform pool sized to the cores, so the cores stay busy
+ *               while other jobs read and write. At most IN_FLIGHT_PER_CORE
+ *               files per core are held in memory at once. Each job records
+ *               its read, queue wait, sort and write times.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+public final class BatchSort<T extends Comparable<? super T>>
+{
+    // Files read but not yet written, per core; bounds memory use
+    public static final int IN_FLIGHT_PER_CORE = 4;
+
+    private final Function<String, T> parser;
+    private final String algo;
+    private final int cores;
+    private final Path outputDir;
+
+    private boolean virtualThreads;
+
+    // parser returns null for rows that should be dropped (e.g. the header)
+    public BatchSort(Function<String, T> parser, String algo, int cores, Path outputDir)
+    {
+        this.parser = parser;
+        this.algo = algo;
+        this.cores = Math.max(1, cores);
+        this.outputDir = outputDir;
+    }
+
+    // True when the last sort ran its jobs on virtual threads
+    public boolean usedVirtualThreads()
+    {
+        return virtualThreads;
+    }
+
+    // ------------------------------------------------------------
+    // Inputs
+    // ------------------------------------------------------------
+
+    // Regular files in a directory, or those matching a glob such as
+    // "exports/part-*.csv" (the pattern applies to the file name). Dataset
+    // cache files are skipped. Sorted by name.
+    public static List<Path> inputs(String spec) throws IOException
+    {
+        Path path = Paths.get(spec);
+        Path dir = path;
+        String pattern = "*";
+
+        if (!Files.isDirectory(path))
+        {
+            dir = (path.getParent() == null) ? Paths.get(".") : path.getParent();
+            pattern = path.getFileName().toString();
+        }
+
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        List<Path> files = new ArrayList<>();
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir))
+        {
+            for (Path p : entries)
+            {
+                String name = p.getFileName().toString();
+                if (Files.isRegularFile(p) && matcher.matches(p.getFileName()) && !name.endsWith(".cache"))
+                {
+                    files.add(p);
+                }
+            }
+        }
+
+        if (files.isEmpty())
+        {
+            throw new IllegalArgumentException("No input files match " + spec);
+        }
+
+        Collections.sort(files);
+        return files;
+    }
+
+    // ------------------------------------------------------------
+    // Sorting
+    // ------------------------------------------------------------
+
+    // Sorts the first n lines of every file into outputDir under the same
+    // name; results come back in input order. outputDir must not be the
+    // directory of any input, or the outputs would overwrite the inputs.
+    public List<FileResult> sort(List<Path> files, int n) throws IOException
+    {
+        if (Files.isDirectory(outputDir))
+        {
+            Path out = outputDir.toRealPath();
+            for (Path file : files)
+            {
+                if (file.toRealPath().getParent().equals(out))
+                {
+                    throw new IllegalArgumentException("Output directory " + outputDir
+                            + " holds the input " + file + "; choose another --out");
+                }
+            }
+        }
+
+        Files.createDirectories(outputDir);
+
+        ExecutorService cpu = Executors.newFixedThreadPool(cores);
+        ExecutorService jobs = jobExecutor(cores * IN_FLIGHT_PER_CORE);
+        Semaphore inFlight = new Semaphore(cores * IN_FLIGHT_PER_CORE);
+
+        try
+        {
+            List<Future<FileResult>> futures = new ArrayList<>();
+            for (Path file : files)
+            {
+                futures.add(jobs.submit(() -> job(file, n, cpu, inFlight)));
+            }
+
+            List<FileResult> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++)
+            {
+                try
+                {
+                    results.add(futures.get(i).get());
+                }
+                catch (ExecutionException e)
+                {
+                    throw new IOException("Batch job failed: " + files.get(i), e.getCause());
+                }
+            }
+            return results;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sorting batch", e);
+        }
+        finally
+        {
+            jobs.shutdownNow();
+            cpu.shutdownNow();
+        }
+    }
+
+    // Read and write stay on the job's thread; parse and sort run on the
+    // CPU pool while the job waits for them
+    private FileResult job(Path file, int n, ExecutorService cpu, Semaphore inFlight) throws Exception
+    {
+        FileResult r = new FileResult(file);
+        inFlight.acquire();
+
+        try
+        {
+            long start = System.nanoTime();
+            ArrayList<String> lines = Proj3.readLines(file.toString(), n);
+            long read = System.nanoTime();
+            r.readNanos = read - start;
+
+            ArrayList<T> sorted = cpu.submit(() ->
+            {
+                long begin = System.nanoTime();
+                r.waitNanos = begin - read;
+
+                ArrayList<T> list = new ArrayList<>(lines.size());
+                for (String line : lines)
+                {
+                    T item = parser.apply(line);
+                    if (item != null)
+                    {
+                        list.add(item);
+                    }
+                }
+
+                Proj3.run(algo, file.getFileName().toString(), list);
+                r.sortNanos = System.nanoTime() - begin;
+                return list;
+            }).get();
+
+            long written = System.nanoTime();
+            try (LineWriter out = new LineWriter(outputDir.resolve(file.getFileName()),
+                    Charset.defaultCharset(), false, false))
+            {
+                out.writeAll(sorted);
+            }
+            r.writeNanos = System.nanoTime() - written;
+            r.rows = sorted.size();
+            r.totalNanos = System.nanoTime() - start;
+            return r;
+        }
+        finally
+        {
+            inFlight.release();
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor on Java 21+, looked up
+    // reflectively so the build still targets 17; otherwise a fixed pool
+    // with one platform thread per in-flight file
+    private ExecutorService jobExecutor(int platformThreads)
+    {
+        try
+        {
+            ExecutorService pool = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            virtualThreads = true;
+            return pool;
+        }
+        catch (ReflectiveOperationException e)
+        {
+            virtualThreads = false;
+            return Executors.newFixedThreadPool(platformThreads);
+        }
+    }
+
+    // Timings of one file's job; wait is time queued for a CPU pool thread
+    public static final class FileResult
+    {
+        public final Path file;
+        public int rows;
+        public long readNanos;
+        public long waitNanos;
+        public long sortNanos;
+        public long writeNanos;
+        public long totalNanos;
+
+        FileResult(Path file)
+        {
+            this.file = file;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * @file: Counters.java
+ * @description: Operation counters the sort kernels report into. Every sort
+ *               takes a Counters and tells it about each comparison, swap,
+ *               element move, recursion level and scratch allocation. NONE
+ *               ignores everything; its empty methods inline away, so a sort
+ *               run without metrics costs the same as before. Recording keeps
+ *               the totals and can be shared by the threads of a parallel
+ *               sort.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public interface Counters
+{
+    // Discards every event
+    Counters NONE = new Counters()
+    {
+    };
+
+    // Bytes per slot of a reference array, assuming compressed oops
+    int REFERENCE_BYTES = 4;
+
+    // One compareTo (or equivalent key comparison)
+    default void compare()
+    {
+    }
+
+    // Two elements exchanged
+    default void swap()
+    {
+    }
+
+    // count elements written outside a swap: copies to and from scratch
+    // space, shifts and hole moves
+    default void move(long count)
+    {
+    }
+
+    // A call running depth levels below the top-level one (which is 0)
+    default void depth(int depth)
+    {
+    }
+
+    // Scratch space allocated by the sort, in bytes
+    default void buffer(long bytes)
+    {
+    }
+
+    // ------------------------------------------------------------
+    // Recording
+    // ------------------------------------------------------------
+
+    final class Recording implements Counters
+    {
+        private final LongAdder compares = new LongAdder();
+        private final LongAdder swaps = new LongAdder();
+        private final LongAdder moves = new LongAdder();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+        private final LongAdder bufferBytes = new LongAdder();
+
+        @Override
+        public void compare()
+        {
+            compares.increment();
+        }
+
+        @Override
+        public void swap()
+        {
+            swaps.increment();
+        }
+
+        @Override
+        public void move(long count)
+        {
+            moves.add(count);
+        }
+
+        @Override
+        public void depth(int depth)
+        {
+            if (depth > maxDepth.get())
+            {
+                maxDepth.accumulateAndGet(depth, Math::max);
+            }
+        }
+
+        @Override
+        public void buffer(long bytes)
+        {
+            bufferBytes.add(bytes);
+        }
+
+        public long compares()
+        {
+            return compares.sum();
+        }
+
+        public long swaps()
+        {
+            return swaps.sum();
+        }
+
+        public long moves()
+        {
+            return moves.sum();
+        }
+
+        public int maxDepth()
+        {
+            return maxDepth.get();
+        }
+
+        public long bufferBytes()
+        {
+            return bufferBytes.sum();
+        }
+    }
+}
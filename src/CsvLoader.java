@@ -0,0 +1,566 @@
+/*******************************************************************************
+ * @file: CsvLoader.java
+ * @description: Memory-mapped, parallel CSV loader. The file is mapped with
+ *               NIO and cut into one chunk per thread. Two parallel scans make
+ *               the cuts safe for quoted fields that contain commas or
+ *               newlines: the first counts quote characters so every chunk
+ *               learns whether it starts inside quotes, the second counts
+ *               the records that start in each chunk. A third parallel pass
+ *               parses the records straight into HorrorMovie objects, column
+ *               arrays or raw row strings. N counts CSV records: a newline
+ *               inside quotes does not end a record, so a multi-line record
+ *               is one row here but several lines to Proj3.readLines. The
+ *               scanner and the row parser share one quoting rule: every
+ *               quote character toggles the quoted state, wherever it sits
+ *               in a field. The scans cover only a prefix of the file that
+ *               is grown until it holds N records, so a small N does not pay
+ *               for reading a large file.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class CsvLoader
+{
+    // Chunks smaller than this are not worth a thread
+    private static final int MIN_CHUNK_BYTES = 1 << 16;
+
+    // Size of the first prefix scanned for the requested records
+    private static final int FIRST_WINDOW_BYTES = 1 << 20;
+
+    // Same charset as the BufferedReader path in Proj3.readLines
+    static final Charset CHARSET = Charset.defaultCharset();
+
+    private final int threads;
+    private Stats lastStats;
+
+    public CsvLoader(int threads)
+    {
+        this.threads = Math.max(1, threads);
+    }
+
+    // Timing and size of the most recent load
+    public Stats lastStats()
+    {
+        return lastStats;
+    }
+
+    // ------------------------------------------------------------
+    // Convenience loaders
+    // ------------------------------------------------------------
+
+    // First n records parsed into movies; the header and malformed rows are skipped
+    public ArrayList<HorrorMovie> loadMovies(Path file, int n) throws IOException
+    {
+        HorrorMovie[][] slots = new HorrorMovie[1][];
+
+        forEachRecord(file, n, count -> slots[0] = new HorrorMovie[count],
+                (index, row) -> slots[0][index] = row.toMovie());
+
+        ArrayList<HorrorMovie> movies = new ArrayList<>(slots[0].length);
+        for (HorrorMovie m : slots[0])
+        {
+            if (m != null)
+            {
+                movies.add(m);
+            }
+        }
+        return movies;
+    }
+
+    // First n records as raw row strings (the CSV text of each record)
+    public ArrayList<String> loadLines(Path file, int n) throws IOException
+    {
+        String[][] slots = new String[1][];
+
+        forEachRecord(file, n, count -> slots[0] = new String[count],
+                (index, row) -> slots[0][index] = row.text());
+
+        return new ArrayList<>(Arrays.asList(slots[0]));
+    }
+
+    // First n records as title/rating columns; the header and malformed rows are skipped
+    public Columns loadColumns(Path file, int n) throws IOException
+    {
+        Columns c = new Columns();
+
+        forEachRecord(file, n, count ->
+                {
+                    c.titles = new String[count];
+                    c.ratings = new double[count];
+                },
+                (index, row) ->
+                {
+                    HorrorMovie m = row.toMovie();
+                    if (m != null)
+                    {
+                        c.titles[index] = m.title();
+                        c.ratings[index] = m.rating();
+                    }
+                });
+
+        // squeeze out the rows that did not parse
+        int size = 0;
+        for (int i = 0; i < c.titles.length; i++)
+        {
+            if (c.titles[i] != null)
+            {
+                c.titles[size] = c.titles[i];
+                c.ratings[size] = c.ratings[i];
+                size++;
+            }
+        }
+        c.size = size;
+        return c;
+    }
+
+    public static final class Columns
+    {
+        public String[] titles;
+        public double[] ratings;
+        public int size;
+    }
+
+    // ------------------------------------------------------------
+    // Core
+    // ------------------------------------------------------------
+
+    // Called once with the number of records that will be delivered
+    public interface Allocator
+    {
+        void allocate(int records);
+    }
+
+    // Called from worker threads; index is the record's position in the file
+    public interface RowSink
+    {
+        void accept(int index, Row row);
+    }
+
+    // Parses the first n records of file in parallel
+    public void forEachRecord(Path file, int n, Allocator allocator, RowSink sink) throws IOException
+    {
+        long start = System.nanoTime();
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("File too large to map in one piece; use the external mode");
+            }
+
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int length = (int) size;
+            int maxChunks = (int) Math.max(1, Math.min(threads, size / MIN_CHUNK_BYTES));
+
+            ExecutorService pool = Executors.newFixedThreadPool(maxChunks);
+            try
+            {
+                // passes 1 and 2 over a prefix of the file, grown until it
+                // holds n record starts or covers the whole file; records
+                // that start inside the prefix may end past it
+                int limit = Math.min(length, FIRST_WINDOW_BYTES);
+                Scan scan = scan(pool, buf, limit, length);
+
+                while (scan.records() < n && limit < length)
+                {
+                    // aim 25% past the estimate from the records seen so far
+                    long estimate = (scan.records() == 0) ? 2L * limit
+                            : (long) limit * n / scan.records() / 4 * 5;
+                    limit = (int) Math.min(length, Math.max(2L * limit, estimate));
+                    scan = scan(pool, buf, limit, length);
+                }
+
+                int p = scan.bounds.length - 1;
+                int total = Math.min(n, scan.records());
+                allocator.allocate(total);
+
+                // pass 3: parse the records of each chunk that fall below n,
+                // noting where the last of them ends
+                int[] consumed = new int[1];
+                List<Callable<Integer>> parseTasks = new ArrayList<>();
+                for (int c = 0; c < p; c++)
+                {
+                    if (scan.firstIndex[c] >= total)
+                    {
+                        break;
+                    }
+
+                    final int lo = scan.bounds[c];
+                    final int hi = scan.bounds[c + 1];
+                    final boolean quoted = scan.startsQuoted[c];
+                    final int first = scan.firstIndex[c];
+                    parseTasks.add(() ->
+                    {
+                        Row row = new Row(buf, length);
+                        return countRecordStarts(buf, lo, hi, length, quoted, (i, at) ->
+                        {
+                            if (first + i < total)
+                            {
+                                row.parse(at);
+                                sink.accept(first + i, row);
+
+                                if (first + i == total - 1)
+                                {
+                                    consumed[0] = row.end();
+                                }
+                            }
+                        });
+                    });
+                }
+
+                invokeAll(pool, parseTasks);
+                lastStats = new Stats(consumed[0], total, (System.nanoTime() - start) / 1e9);
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // Chunk layout of a scanned prefix: chunk c covers [bounds[c],
+    // bounds[c + 1]), starts inside quotes if startsQuoted[c], and its
+    // first record has index firstIndex[c]
+    private static final class Scan
+    {
+        int[] bounds;
+        boolean[] startsQuoted;
+        int[] firstIndex;
+
+        int records()
+        {
+            return firstIndex[firstIndex.length - 1];
+        }
+    }
+
+    // Passes 1 and 2 over buf[0, limit)
+    private Scan scan(ExecutorService pool, MappedByteBuffer buf, int limit, int length) throws IOException
+    {
+        Scan scan = new Scan();
+        int p = Math.max(1, Math.min(threads, limit / MIN_CHUNK_BYTES));
+
+        scan.bounds = new int[p + 1];
+        for (int c = 0; c <= p; c++)
+        {
+            scan.bounds[c] = (int) ((long) limit * c / p);
+        }
+
+        // pass 1: quote parity at each chunk start
+        List<Callable<Integer>> quoteTasks = new ArrayList<>();
+        for (int c = 0; c < p; c++)
+        {
+            final int lo = scan.bounds[c];
+            final int hi = scan.bounds[c + 1];
+            quoteTasks.add(() -> countQuotes(buf, lo, hi));
+        }
+
+        List<Integer> quotes = invokeAll(pool, quoteTasks);
+        scan.startsQuoted = new boolean[p];
+        int parity = 0;
+        for (int c = 0; c < p; c++)
+        {
+            scan.startsQuoted[c] = (parity & 1) == 1;
+            parity += quotes.get(c);
+        }
+
+        // pass 2: records starting in each chunk
+        List<Callable<Integer>> countTasks = new ArrayList<>();
+        for (int c = 0; c < p; c++)
+        {
+            final int lo = scan.bounds[c];
+            final int hi = scan.bounds[c + 1];
+            final boolean quoted = scan.startsQuoted[c];
+            countTasks.add(() -> countRecordStarts(buf, lo, hi, length, quoted, null));
+        }
+
+        List<Integer> counts = invokeAll(pool, countTasks);
+        scan.firstIndex = new int[p + 1];
+        for (int c = 0; c < p; c++)
+        {
+            scan.firstIndex[c + 1] = scan.firstIndex[c] + counts.get(c);
+        }
+
+        return scan;
+    }
+
+    private static int countQuotes(MappedByteBuffer buf, int lo, int hi)
+    {
+        int count = 0;
+        for (int i = lo; i < hi; i++)
+        {
+            if (buf.get(i) == '"')
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private interface StartVisitor
+    {
+        void visit(int ordinal, int offset);
+    }
+
+    // Counts (and optionally visits) the records that start in [lo, hi); a
+    // record starts at offset 0 or right after a newline outside quotes,
+    // with every quote toggling the quoted state as in Row.parse
+    private static int countRecordStarts(MappedByteBuffer buf, int lo, int hi, int length,
+                                         boolean quoted, StartVisitor visitor)
+    {
+        int count = 0;
+
+        if (lo < hi && (lo == 0 || (!quoted && buf.get(lo - 1) == '\n')))
+        {
+            if (visitor != null) visitor.visit(count, lo);
+            count++;
+        }
+
+        boolean inQuotes = quoted;
+        for (int i = lo; i < hi; i++)
+        {
+            byte b = buf.get(i);
+
+            if (b == '"')
+            {
+                inQuotes = !inQuotes;
+            }
+            else if (b == '\n' && !inQuotes && i + 1 < hi && i + 1 < length)
+            {
+                if (visitor != null) visitor.visit(count, i + 1);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static <V> List<V> invokeAll(ExecutorService pool, List<Callable<V>> tasks) throws IOException
+    {
+        try
+        {
+            List<V> results = new ArrayList<>();
+            for (Future<V> f : pool.invokeAll(tasks))
+            {
+                results.add(f.get());
+            }
+            return results;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IOException("CSV loader worker failed", e.getCause());
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Row view
+    // ------------------------------------------------------------
+
+    // One parsed record: byte ranges of its fields inside the mapped file.
+    // A Row is reused for every record a worker parses.
+    public static final class Row
+    {
+        private final MappedByteBuffer buf;
+        private final int length;
+        private int[] fieldStart = new int[32];
+        private int[] fieldEnd = new int[32];
+        private boolean[] escaped = new boolean[32];
+        private int fields;
+        private int recordStart;
+        private int recordEnd;
+
+        Row(MappedByteBuffer buf, int length)
+        {
+            this.buf = buf;
+            this.length = length;
+        }
+
+        public int fields()
+        {
+            return fields;
+        }
+
+        // Field text with surrounding quotes removed and "" unescaped
+        public String string(int col)
+        {
+            String s = decode(fieldStart[col], fieldEnd[col]);
+            return escaped[col] ? s.replace("\"\"", "\"") : s;
+        }
+
+        public double number(int col)
+        {
+            return Double.parseDouble(decode(fieldStart[col], fieldEnd[col]));
+        }
+
+        // The record's raw CSV text without its line terminator
+        public String text()
+        {
+            return decode(recordStart, recordEnd);
+        }
+
+        // Title and vote_average, or null for the header or a malformed row
+        public HorrorMovie toMovie()
+        {
+            if (fields <= HorrorMovie.RATING_COLUMN)
+            {
+                return null;
+            }
+
+            try
+            {
+                return new HorrorMovie(string(HorrorMovie.TITLE_COLUMN), number(HorrorMovie.RATING_COLUMN));
+            }
+            catch (NumberFormatException e)
+            {
+                return null;
+            }
+        }
+
+        private String decode(int from, int to)
+        {
+            byte[] bytes = new byte[to - from];
+            buf.get(from, bytes);
+            return new String(bytes, CHARSET);
+        }
+
+        // Offset just past the record and its line terminator
+        int end()
+        {
+            int i = recordEnd;
+            if (i < length && buf.get(i) == '\r') i++;
+            if (i < length && buf.get(i) == '\n') i++;
+            return i;
+        }
+
+        // Splits the record starting at offset into fields. A field runs to
+        // the next comma or newline outside quotes, and every quote toggles
+        // the quoted state, the same rule countRecordStarts uses, so both
+        // agree on where the record ends.
+        void parse(int offset)
+        {
+            recordStart = offset;
+            fields = 0;
+            int i = offset;
+
+            while (true)
+            {
+                ensureCapacity();
+                int raw = i;
+                int lastQuote = -1;
+                boolean inQuotes = false;
+                boolean esc = false;
+
+                while (i < length)
+                {
+                    byte b = buf.get(i);
+
+                    if (b == '"')
+                    {
+                        // "" inside quotes is an escaped quote: two toggles
+                        if (inQuotes && i + 1 < length && buf.get(i + 1) == '"')
+                        {
+                            esc = true;
+                            i += 2;
+                            continue;
+                        }
+                        inQuotes = !inQuotes;
+                        lastQuote = i;
+                    }
+                    else if (!inQuotes && (b == ',' || b == '\n'))
+                    {
+                        break;
+                    }
+                    i++;
+                }
+
+                int start = raw;
+                int end = i;
+
+                if (i > raw && buf.get(raw) == '"')
+                {
+                    // a quoted field ends at its closing quote; stray bytes
+                    // between that quote and the delimiter are dropped
+                    start = raw + 1;
+                    end = (lastQuote > raw) ? lastQuote : i;
+                }
+                else
+                {
+                    // quotes inside an unquoted field are kept as text
+                    esc = false;
+                }
+
+                if (end > start && (i >= length || buf.get(i) == '\n') && buf.get(end - 1) == '\r')
+                {
+                    end--;
+                }
+
+                fieldStart[fields] = start;
+                fieldEnd[fields] = end;
+                escaped[fields] = esc;
+                fields++;
+
+                if (i >= length || buf.get(i) == '\n')
+                {
+                    recordEnd = (i > offset && buf.get(i - 1) == '\r') ? i - 1 : i;
+                    return;
+                }
+
+                i++;
+            }
+        }
+
+        private void ensureCapacity()
+        {
+            if (fields == fieldStart.length)
+            {
+                fieldStart = Arrays.copyOf(fieldStart, fields * 2);
+                fieldEnd = Arrays.copyOf(fieldEnd, fields * 2);
+                escaped = Arrays.copyOf(escaped, fields * 2);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Stats
+    // ------------------------------------------------------------
+
+    // bytes counts the file up to the end of the last record delivered
+    public static final class Stats
+    {
+        public final long bytes;
+        public final int records;
+        public final double seconds;
+
+        Stats(long bytes, int records, double seconds)
+        {
+            this.bytes = bytes;
+            this.records = records;
+            this.seconds = seconds;
+        }
+
+        public double megabytesPerSecond()
+        {
+            return (bytes / 1e6) / seconds;
+        }
+    }
+}
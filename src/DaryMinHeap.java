@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * @file: DaryMinHeap.java
+ * @description: Min-heap with a configurable number of children per node (4
+ *               by default), stored in a plain Object[]. A 4-ary heap is
+ *               half as deep as a binary one, and the four children sit next
+ *               to each other in memory, so a sift-down touches fewer cache
+ *               lines. Sifting moves a hole instead of swapping: each level
+ *               costs one array write and the moving element is stored once
+ *               at the end. Bulk operations: addAll rebuilds the heap
+ *               bottom-up when the batch is large, pollN drains several
+ *               minimums at once, and replaceTop swaps the root for a new
+ *               element in one sift-down (the k-way merge step).
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class DaryMinHeap<E extends Comparable<? super E>>
+{
+    public static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int arity;
+    private Object[] heap;
+    private int size;
+
+    public DaryMinHeap()
+    {
+        this(DEFAULT_ARITY);
+    }
+
+    public DaryMinHeap(int arity)
+    {
+        if (arity < 2)
+        {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+
+        this.arity = arity;
+        heap = new Object[DEFAULT_CAPACITY];
+    }
+
+    public DaryMinHeap(Collection<? extends E> items)
+    {
+        this(DEFAULT_ARITY);
+        addAll(items);
+    }
+
+    // ------------------------------------------------------------
+    // Basic methods
+    // ------------------------------------------------------------
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public int arity()
+    {
+        return arity;
+    }
+
+    public E peek()
+    {
+        if (size == 0)
+        {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return elementAt(0);
+    }
+
+    // ------------------------------------------------------------
+    // Modification methods
+    // ------------------------------------------------------------
+
+    public void add(E value)
+    {
+        if (size == heap.length)
+        {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        siftUp(size++, value);
+    }
+
+    public E poll()
+    {
+        if (size == 0)
+        {
+            throw new IllegalStateException("Heap is empty");
+        }
+
+        E root = elementAt(0);
+        E last = elementAt(--size);
+        heap[size] = null;
+
+        if (size > 0)
+        {
+            siftDown(0, last);
+        }
+        return root;
+    }
+
+    // Removes and returns the minimum and adds value, with a single
+    // sift-down; cheaper than poll followed by add
+    public E replaceTop(E value)
+    {
+        if (size == 0)
+        {
+            throw new IllegalStateException("Heap is empty");
+        }
+
+        E root = elementAt(0);
+        siftDown(0, value);
+        return root;
+    }
+
+    // Up to n smallest elements in ascending order
+    public List<E> pollN(int n)
+    {
+        int count = Math.min(Math.max(0, n), size);
+        List<E> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            result.add(poll());
+        }
+        return result;
+    }
+
+    // Adds every item. A batch at least as large as the current heap is
+    // appended and the whole array heapified in O(n + k); smaller batches
+    // are sifted up one by one in O(k log n).
+    public void addAll(Collection<? extends E> items)
+    {
+        int count = items.size();
+        if (size + count > heap.length)
+        {
+            heap = Arrays.copyOf(heap, Math.max(size + count, heap.length * 2));
+        }
+
+        if (count < size)
+        {
+            for (E item : items)
+            {
+                siftUp(size++, item);
+            }
+            return;
+        }
+
+        for (E item : items)
+        {
+            heap[size++] = item;
+        }
+        heapify();
+    }
+
+    // ------------------------------------------------------------
+    // Heapify
+    // ------------------------------------------------------------
+
+    public void heapify()
+    {
+        if (size < 2)
+        {
+            return;
+        }
+
+        for (int i = parent(size - 1); i >= 0; i--)
+        {
+            siftDown(i, elementAt(i));
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Sifting helpers
+    // ------------------------------------------------------------
+
+    // Moves the hole at index up past larger parents, then fills it with value
+    private void siftUp(int index, E value)
+    {
+        while (index > 0)
+        {
+            int parent = parent(index);
+            E p = elementAt(parent);
+            if (value.compareTo(p) >= 0)
+            {
+                break;
+            }
+            heap[index] = p;
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    // Moves the hole at index down past smaller children, then fills it
+    // with value
+    private void siftDown(int index, E value)
+    {
+        while (true)
+        {
+            int first = index * arity + 1;
+            if (first >= size)
+            {
+                break;
+            }
+
+            int end = Math.min(first + arity, size);
+            int smallest = first;
+            E child = elementAt(first);
+
+            for (int c = first + 1; c < end; c++)
+            {
+                E other = elementAt(c);
+                if (other.compareTo(child) < 0)
+                {
+                    smallest = c;
+                    child = other;
+                }
+            }
+
+            if (child.compareTo(value) >= 0)
+            {
+                break;
+            }
+
+            heap[index] = child;
+            index = smallest;
+        }
+        heap[index] = value;
+    }
+
+    // ------------------------------------------------------------
+    // Index helpers
+    // ------------------------------------------------------------
+
+    private int parent(int index)
+    {
+        return (index - 1) / arity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index)
+    {
+        return (E) heap[index];
+    }
+}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * @file: DatasetCache.java
+ * @description: Binary columnar cache of the movie dataset, kept next to the
+ *               CSV as "<file>.cache". The first load parses the CSV once with
+ *               CsvLoader and writes a header, the ratings as a double[]
+ *               column, the record number of every movie, and the UTF-8
+ *               titles as one blob plus an offsets array. Later loads map
+ *               the cache read-only and skip CSV parsing. The header stores
+ *               the source's size and mtime and the name of the charset the
+ *               CSV was decoded with, and the cache is rebuilt when any of
+ *               them changes.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+public final class DatasetCache
+{
+    // "P3DC" followed by the format version
+    private static final int MAGIC = 0x50334443;
+    private static final int VERSION = 2;
+
+    // magic, version, source size, source mtime, movies, records, blob
+    // bytes, charset name length; the ASCII charset name follows
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 4 + 8 + 4;
+
+    // Charset CsvLoader decodes the source with, as stored in the header
+    private static final byte[] CHARSET_NAME = CsvLoader.CHARSET.name().getBytes(StandardCharsets.US_ASCII);
+
+    private final Path source;
+    private final Path cache;
+    private final int threads;
+    private boolean rebuilt;
+
+    public DatasetCache(Path source, int threads)
+    {
+        this.source = source;
+        this.cache = source.resolveSibling(source.getFileName() + ".cache");
+        this.threads = threads;
+    }
+
+    public Path file()
+    {
+        return cache;
+    }
+
+    // True when the last load had to parse the CSV and rewrite the cache
+    public boolean rebuilt()
+    {
+        return rebuilt;
+    }
+
+    // Movies from the first n records of the source, in file order; the
+    // header and malformed rows are skipped exactly as CsvLoader does
+    public ArrayList<HorrorMovie> loadMovies(int n) throws IOException
+    {
+        CsvLoader.Columns c = loadColumns(n);
+        ArrayList<HorrorMovie> movies = new ArrayList<>(c.size);
+
+        for (int i = 0; i < c.size; i++)
+        {
+            movies.add(new HorrorMovie(c.titles[i], c.ratings[i]));
+        }
+        return movies;
+    }
+
+    // Title and rating columns of the movies from the first n records
+    public CsvLoader.Columns loadColumns(int n) throws IOException
+    {
+        long size = Files.size(source);
+        long mtime = Files.getLastModifiedTime(source).toMillis();
+
+        rebuilt = !isCurrent(size, mtime);
+        if (rebuilt)
+        {
+            build(size, mtime);
+        }
+
+        try (FileChannel ch = FileChannel.open(cache, StandardOpenOption.READ))
+        {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            int movies = buf.getInt(24);
+
+            int ratingsAt = HEADER_BYTES + buf.getInt(40);
+            int recordsAt = ratingsAt + movies * 8;
+            int offsetsAt = recordsAt + movies * 4;
+            int blobAt = offsetsAt + (movies + 1) * 4;
+
+            // movies are stored in record order, so the first n records
+            // hold a prefix of them
+            int count = countBelow(buf, recordsAt, movies, n);
+
+            CsvLoader.Columns c = new CsvLoader.Columns();
+            c.size = count;
+            c.ratings = new double[count];
+            c.titles = new String[count];
+            buf.slice(ratingsAt, count * 8).asDoubleBuffer().get(c.ratings);
+
+            // only the titles of the prefix are copied out of the blob
+            byte[] blob = new byte[buf.getInt(offsetsAt + count * 4)];
+            buf.get(blobAt, blob);
+
+            int from = buf.getInt(offsetsAt);
+            for (int i = 0; i < count; i++)
+            {
+                int to = buf.getInt(offsetsAt + (i + 1) * 4);
+                c.titles[i] = new String(blob, from, to - from, StandardCharsets.UTF_8);
+                from = to;
+            }
+            return c;
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Validation + build
+    // ------------------------------------------------------------
+
+    private boolean isCurrent(long size, long mtime) throws IOException
+    {
+        int headerBytes = HEADER_BYTES + CHARSET_NAME.length;
+        if (!Files.exists(cache) || Files.size(cache) < headerBytes)
+        {
+            return false;
+        }
+
+        try (FileChannel ch = FileChannel.open(cache, StandardOpenOption.READ))
+        {
+            ByteBuffer header = ByteBuffer.allocate(headerBytes);
+            while (header.hasRemaining() && ch.read(header) >= 0)
+            {
+            }
+            header.flip();
+
+            return header.remaining() == headerBytes
+                    && header.getInt(0) == MAGIC
+                    && header.getInt(4) == VERSION
+                    && header.getLong(8) == size
+                    && header.getLong(16) == mtime
+                    && header.getInt(40) == CHARSET_NAME.length
+                    && header.slice(HEADER_BYTES, CHARSET_NAME.length).equals(ByteBuffer.wrap(CHARSET_NAME));
+        }
+    }
+
+    // Parses every record of the source and writes the cache beside it
+    private void build(long size, long mtime) throws IOException
+    {
+        CsvLoader loader = new CsvLoader(threads);
+        HorrorMovie[][] slots = new HorrorMovie[1][];
+
+        loader.forEachRecord(source, Integer.MAX_VALUE, count -> slots[0] = new HorrorMovie[count],
+                (index, row) -> slots[0][index] = row.toMovie());
+
+        HorrorMovie[] rows = slots[0];
+        int movies = 0;
+        for (HorrorMovie m : rows)
+        {
+            if (m != null) movies++;
+        }
+
+        ByteBuffer ratings = ByteBuffer.allocate(movies * 8);
+        ByteBuffer records = ByteBuffer.allocate(movies * 4);
+        ByteBuffer offsets = ByteBuffer.allocate((movies + 1) * 4);
+        byte[][] titles = new byte[movies][];
+        long blobBytes = 0;
+        int next = 0;
+
+        offsets.putInt(0);
+        for (int i = 0; i < rows.length; i++)
+        {
+            if (rows[i] != null)
+            {
+                titles[next] = rows[i].title().getBytes(StandardCharsets.UTF_8);
+                blobBytes += titles[next].length;
+                if (blobBytes > Integer.MAX_VALUE)
+                {
+                    throw new IOException("Titles too large for the dataset cache");
+                }
+
+                ratings.putDouble(rows[i].rating());
+                records.putInt(i);
+                offsets.putInt((int) blobBytes);
+                next++;
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + CHARSET_NAME.length);
+        header.putInt(MAGIC).putInt(VERSION).putLong(size).putLong(mtime)
+                .putInt(movies).putInt(rows.length).putLong(blobBytes)
+                .putInt(CHARSET_NAME.length).put(CHARSET_NAME);
+
+        ByteBuffer blob = ByteBuffer.allocate((int) blobBytes);
+        for (byte[] t : titles)
+        {
+            blob.put(t);
+        }
+
+        // write beside the cache and move into place so readers never see half a file
+        Path tmp = cache.resolveSibling(cache.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            ByteBuffer[] parts = { header.flip(), ratings.flip(), records.flip(), offsets.flip(), blob.flip() };
+            long remaining = header.limit() + ratings.limit() + records.limit() + offsets.limit() + blobBytes;
+
+            while (remaining > 0)
+            {
+                remaining -= ch.write(parts);
+            }
+        }
+
+        try
+        {
+            Files.move(tmp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e)
+        {
+            // some file systems cannot rename atomically; fall back to a plain replace
+            Files.move(tmp, cache, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Number of stored movies whose record number is below n
+    private static int countBelow(ByteBuffer buf, int recordsAt, int movies, int n)
+    {
+        int lo = 0;
+        int hi = movies;
+
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            if (buf.getInt(recordsAt + mid * 4) < n)
+            {
+                lo = mid + 1;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+}
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * @file: ExternalSort.java
+ * @description: External merge sort for inputs larger than the heap. The
+ *               input is read in memory-bounded chunks, each chunk is sorted
+ *               with one of the in-memory Proj3 algorithms and written to a
+ *               temporary run file, and the runs are k-way merged (at most
+ *               fanIn at a time) into the output file.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public final class ExternalSort
+{
+    public static final long DEFAULT_MEMORY_BYTES = 64L << 20;
+    public static final int DEFAULT_FAN_IN = 16;
+
+    // Rough heap cost of one line beyond its characters: String and byte[]
+    // headers, the list slot and the array copy made by the sort adapter
+    private static final int LINE_OVERHEAD_BYTES = 64;
+
+    private final String chunkAlgo;
+    private final long memoryBytes;
+    private final int fanIn;
+
+    public ExternalSort(String chunkAlgo, long memoryBytes, int fanIn)
+    {
+        if (memoryBytes <= 0)
+        {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+
+        if (fanIn < 2)
+        {
+            throw new IllegalArgumentException("Fan-in must be at least 2");
+        }
+
+        Proj3.checkChunkAlgorithm(chunkAlgo);
+
+        this.chunkAlgo = chunkAlgo;
+        this.memoryBytes = memoryBytes;
+        this.fanIn = fanIn;
+    }
+
+    // Sorts the first n lines of input into output; returns phase timings.
+    // Every temp file is removed on the way out, and a failed final merge
+    // also removes the partial output.
+    public Stats sort(String input, int n, String output) throws IOException
+    {
+        Stats stats = new Stats();
+        List<Path> runs = new ArrayList<>();
+        List<Path> temps = new ArrayList<>();
+
+        try
+        {
+            long t = System.nanoTime();
+            generateRuns(input, n, runs, temps, stats);
+            stats.runSeconds = (System.nanoTime() - t) / 1e9;
+            stats.runs = runs.size();
+
+            t = System.nanoTime();
+            mergeRuns(runs, temps, Paths.get(output), stats);
+            stats.mergeSeconds = (System.nanoTime() - t) / 1e9;
+        }
+        finally
+        {
+            deleteAll(temps);
+        }
+
+        return stats;
+    }
+
+    // ------------------------------------------------------------
+    // Run generation
+    // ------------------------------------------------------------
+
+    private void generateRuns(String input, int n, List<Path> runs, List<Path> temps, Stats stats)
+            throws IOException
+    {
+        try (BufferedReader br = new BufferedReader(new FileReader(input)))
+        {
+            ArrayList<String> chunk = new ArrayList<>();
+            long used = 0;
+
+            while (stats.lines < n)
+            {
+                String line = br.readLine();
+                if (line == null) break;
+
+                chunk.add(line);
+                stats.lines++;
+                used += LINE_OVERHEAD_BYTES + 2L * line.length();
+
+                if (used >= memoryBytes)
+                {
+                    runs.add(writeRun(chunk, temps));
+                    chunk = new ArrayList<>();
+                    used = 0;
+                }
+            }
+
+            if (!chunk.isEmpty() || runs.isEmpty())
+            {
+                runs.add(writeRun(chunk, temps));
+            }
+        }
+    }
+
+    private Path writeRun(ArrayList<String> chunk, List<Path> temps) throws IOException
+    {
+        Proj3.run(chunkAlgo, "run", chunk);
+
+        Path run = createTemp(temps);
+        writeLines(run, chunk.iterator(), StandardCharsets.UTF_8);
+        return run;
+    }
+
+    // ------------------------------------------------------------
+    // Merge
+    // ------------------------------------------------------------
+
+    // Merges fanIn runs at a time until one pass can produce the output
+    private void mergeRuns(List<Path> runs, List<Path> temps, Path output, Stats stats) throws IOException
+    {
+        while (runs.size() > fanIn)
+        {
+            List<Path> next = new ArrayList<>();
+
+            for (int i = 0; i < runs.size(); i += fanIn)
+            {
+                List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                Path merged = createTemp(temps);
+                merge(group, merged, StandardCharsets.UTF_8);
+                next.add(merged);
+            }
+
+            deleteAll(runs);
+            runs.clear();
+            runs.addAll(next);
+            stats.passes++;
+        }
+
+        // run files are UTF-8 so they round-trip; the output matches writeList
+        boolean merged = false;
+        try
+        {
+            merge(runs, output, Charset.defaultCharset());
+            merged = true;
+        }
+        finally
+        {
+            if (!merged)
+            {
+                Files.deleteIfExists(output);
+            }
+        }
+        stats.passes++;
+    }
+
+    private static void merge(List<Path> group, Path output, Charset charset) throws IOException
+    {
+        List<RunReader> readers = new ArrayList<>();
+
+        try
+        {
+            for (Path run : group)
+            {
+                readers.add(new RunReader(run));
+            }
+
+            writeLines(output, new KWayMerge<>(readers), charset);
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        finally
+        {
+            for (RunReader reader : readers)
+            {
+                reader.close();
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Files
+    // ------------------------------------------------------------
+
+    // Creates a temp file and registers it for deletion before anything
+    // is written to it
+    private static Path createTemp(List<Path> temps) throws IOException
+    {
+        Path temp = Files.createTempFile("proj3-run", ".txt");
+        temps.add(temp);
+        return temp;
+    }
+
+    // Deletes every path, carrying on past failures; rethrows the first
+    private static void deleteAll(List<Path> paths) throws IOException
+    {
+        IOException failure = null;
+
+        for (Path path : paths)
+        {
+            try
+            {
+                Files.deleteIfExists(path);
+            }
+            catch (IOException e)
+            {
+                if (failure == null)
+                {
+                    failure = e;
+                }
+                else
+                {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    private static void writeLines(Path file, Iterator<String> lines, Charset charset) throws IOException
+    {
+        try (LineWriter out = new LineWriter(file, charset, false, false))
+        {
+            while (lines.hasNext())
+            {
+                out.writeLine(lines.next());
+            }
+        }
+    }
+
+    // Streams the lines of one run file
+    private static final class RunReader implements Iterator<String>, Closeable
+    {
+        private final BufferedReader br;
+        private String next;
+
+        RunReader(Path run) throws IOException
+        {
+            br = Files.newBufferedReader(run, StandardCharsets.UTF_8);
+            next = br.readLine();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public String next()
+        {
+            if (next == null)
+            {
+                throw new NoSuchElementException();
+            }
+
+            String line = next;
+            try
+            {
+                next = br.readLine();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            br.close();
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Stats
+    // ------------------------------------------------------------
+
+    public static final class Stats
+    {
+        long lines;
+        int runs;
+        int passes;
+        double runSeconds;
+        double mergeSeconds;
+    }
+}
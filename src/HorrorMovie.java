@@ -5,9 +5,80 @@
  * @date: October 26, 2025
  **************************************************/
 
+import java.util.ArrayList;
+import java.util.List;
+
 public record HorrorMovie(String title, double rating)
         implements Comparable<HorrorMovie>
 {
+    // Column positions in the dataset export (title, vote_average)
+    static final int TITLE_COLUMN = 3;
+    static final int RATING_COLUMN = 11;
+
+    // Builds a movie from one CSV row; returns null for the header or a malformed row
+    public static HorrorMovie fromCsv(String line)
+    {
+        List<String> fields = splitCsv(line);
+        if (fields.size() <= RATING_COLUMN)
+        {
+            return null;
+        }
+
+        try
+        {
+            return new HorrorMovie(fields.get(TITLE_COLUMN), Double.parseDouble(fields.get(RATING_COLUMN)));
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+    }
+
+    // Splits a CSV row on commas outside quotes; "" inside quotes is a literal quote
+    static List<String> splitCsv(String line)
+    {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++)
+        {
+            char c = line.charAt(i);
+
+            if (quoted)
+            {
+                if (c != '"')
+                {
+                    field.append(c);
+                }
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+                {
+                    field.append('"');
+                    i++;
+                }
+                else
+                {
+                    quoted = false;
+                }
+            }
+            else if (c == '"')
+            {
+                quoted = true;
+            }
+            else if (c == ',')
+            {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else
+            {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
 
     // Compare movies by rating first (descending), then by title alphabetically
     @Override
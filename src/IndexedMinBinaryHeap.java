@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * @file: IndexedMinBinaryHeap.java
+ * @description: MinBinaryHeap with a map from each element to its position in
+ *               the heap array, kept current on every swap. contains is O(1)
+ *               and remove is O(log n) instead of an indexOf scan. Elements
+ *               whose priority changes can be re-sifted in place with
+ *               decreaseKey, increaseKey or update. Elements must be
+ *               distinct under equals, and equals/hashCode must not depend
+ *               on the priority, or the map loses track of them.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+
+public class IndexedMinBinaryHeap<E extends Comparable<? super E>>
+{
+    private final ArrayList<E> heap;
+    private final HashMap<E, Integer> positions;
+
+    public IndexedMinBinaryHeap()
+    {
+        heap = new ArrayList<>();
+        positions = new HashMap<>();
+    }
+
+    public IndexedMinBinaryHeap(Collection<? extends E> items)
+    {
+        heap = new ArrayList<>(items);
+        positions = new HashMap<>(Math.max(16, items.size() * 4 / 3 + 1));
+
+        for (int i = 0; i < heap.size(); i++)
+        {
+            if (positions.put(heap.get(i), i) != null)
+            {
+                throw new IllegalArgumentException("Duplicate element: " + heap.get(i));
+            }
+        }
+        heapify();
+    }
+
+    // ------------------------------------------------------------
+    // Basic methods
+    // ------------------------------------------------------------
+
+    public int size()
+    {
+        return heap.size();
+    }
+
+    public boolean isEmpty()
+    {
+        return heap.isEmpty();
+    }
+
+    public boolean contains(E value)
+    {
+        return positions.containsKey(value);
+    }
+
+    public E peek()
+    {
+        if (heap.isEmpty())
+        {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap.get(0);
+    }
+
+    // ------------------------------------------------------------
+    // Modification methods
+    // ------------------------------------------------------------
+
+    public void add(E value)
+    {
+        if (positions.putIfAbsent(value, heap.size()) != null)
+        {
+            throw new IllegalArgumentException("Element already in heap: " + value);
+        }
+
+        heap.add(value);
+        percolateUp(heap.size() - 1);
+    }
+
+    public E poll()
+    {
+        if (heap.isEmpty())
+        {
+            throw new IllegalStateException("Heap is empty");
+        }
+
+        E root = heap.get(0);
+        removeAt(0);
+        return root;
+    }
+
+    public boolean remove(E value)
+    {
+        Integer index = positions.get(value);
+        if (index == null)
+        {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    // value's priority went down (compares smaller than before)
+    public boolean decreaseKey(E value)
+    {
+        Integer index = positions.get(value);
+        if (index == null)
+        {
+            return false;
+        }
+
+        percolateUp(index);
+        return true;
+    }
+
+    // value's priority went up (compares larger than before)
+    public boolean increaseKey(E value)
+    {
+        Integer index = positions.get(value);
+        if (index == null)
+        {
+            return false;
+        }
+
+        percolateDown(index);
+        return true;
+    }
+
+    // value's priority changed in either direction
+    public boolean update(E value)
+    {
+        Integer index = positions.get(value);
+        if (index == null)
+        {
+            return false;
+        }
+
+        if (percolateUp(index) == index)
+        {
+            percolateDown(index);
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------
+    // Heapify
+    // ------------------------------------------------------------
+
+    public void heapify()
+    {
+        for (int i = parent(heap.size() - 1); i >= 0; i--)
+        {
+            percolateDown(i);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Percolation helpers
+    // ------------------------------------------------------------
+
+    // Moves the last element into index and restores the heap around it
+    private void removeAt(int index)
+    {
+        int lastIndex = heap.size() - 1;
+        positions.remove(heap.get(index));
+
+        if (index == lastIndex)
+        {
+            heap.remove(lastIndex);
+            return;
+        }
+
+        E last = heap.remove(lastIndex);
+        heap.set(index, last);
+        positions.put(last, index);
+
+        if (percolateUp(index) == index)
+        {
+            percolateDown(index);
+        }
+    }
+
+    // Returns the element's final position
+    private int percolateUp(int index)
+    {
+        while (index > 0)
+        {
+            int parent = parent(index);
+            if (heap.get(index).compareTo(heap.get(parent)) >= 0)
+            {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+        return index;
+    }
+
+    private void percolateDown(int index)
+    {
+        int size = heap.size();
+
+        while (true)
+        {
+            int left = left(index);
+            int right = right(index);
+            int smallest = index;
+
+            if (left < size && heap.get(left).compareTo(heap.get(smallest)) < 0)
+            {
+                smallest = left;
+            }
+
+            if (right < size && heap.get(right).compareTo(heap.get(smallest)) < 0)
+            {
+                smallest = right;
+            }
+
+            if (smallest == index)
+            {
+                break;
+            }
+
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Index helpers
+    // ------------------------------------------------------------
+
+    private int parent(int index)
+    {
+        return (index - 1) / 2;
+    }
+
+    private int left(int index)
+    {
+        return 2 * index + 1;
+    }
+
+    private int right(int index)
+    {
+        return 2 * index + 2;
+    }
+
+    private void swap(int i, int j)
+    {
+        E a = heap.get(i);
+        E b = heap.get(j);
+        heap.set(i, b);
+        heap.set(j, a);
+        positions.put(b, i);
+        positions.put(a, j);
+    }
+}
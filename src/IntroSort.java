@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * @file: IntroSort.java
+ * @description: Hardened quick sort for production inputs. Ranges are split
+ *               with a three-way (fat) partition so runs of equal keys are
+ *               finished in one pass, small ranges are insertion sorted, and
+ *               a depth limit of 2*log2(n) hands degenerate ranges to the
+ *               existing heap sort. A dual-pivot partition is available as
+ *               an alternative and falls back to the fat partition when its
+ *               two pivots are equal.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+public final class IntroSort
+{
+    // Ranges at or below this size are insertion sorted
+    static final int INSERTION_CUTOFF = 24;
+
+    // Ranges above this size pick the pivot with Tukey's ninther
+    private static final int NINTHER_CUTOFF = 128;
+
+    private IntroSort()
+    {
+    }
+
+    public static <T extends Comparable<? super T>> void sort(T[] a, int from, int to)
+    {
+        sort(a, from, to, Counters.NONE);
+    }
+
+    // Sorts a[from, to) with three-way partitioning
+    public static <T extends Comparable<? super T>> void sort(T[] a, int from, int to, Counters c)
+    {
+        threeWay(a, from, to, depthLimit(to - from), c, 0);
+    }
+
+    public static <T extends Comparable<? super T>> void dualPivotSort(T[] a, int from, int to)
+    {
+        dualPivotSort(a, from, to, Counters.NONE);
+    }
+
+    // Sorts a[from, to) with dual-pivot partitioning
+    public static <T extends Comparable<? super T>> void dualPivotSort(T[] a, int from, int to, Counters c)
+    {
+        dualPivot(a, from, to, depthLimit(to - from), c, 0);
+    }
+
+    static int depthLimit(int n)
+    {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+    }
+
+    // ------------------------------------------------------------
+    // Three-way (fat) partition
+    // ------------------------------------------------------------
+
+    // depth is the remaining budget before heap sort, level the recursion
+    // depth of this call
+    private static <T extends Comparable<? super T>> void threeWay(
+            T[] a, int lo, int hi, int depth, Counters c, int level)
+    {
+        c.depth(level);
+
+        while (hi - lo > INSERTION_CUTOFF)
+        {
+            if (depth-- == 0)
+            {
+                ArraySorts.heapSort(a, lo, hi, c);
+                return;
+            }
+
+            T pivot = a[choosePivot(a, lo, hi, c)];
+
+            // [lo, lt) < pivot, [lt, i) == pivot, (gt, hi) > pivot
+            int lt = lo;
+            int i = lo;
+            int gt = hi - 1;
+
+            while (i <= gt)
+            {
+                int cmp = ArraySorts.compare(a[i], pivot, c);
+
+                if (cmp < 0)
+                {
+                    ArraySorts.swap(a, lt++, i++, c);
+                }
+                else if (cmp > 0)
+                {
+                    ArraySorts.swap(a, i, gt--, c);
+                }
+                else
+                {
+                    i++;
+                }
+            }
+
+            // recurse on the smaller side so the stack stays O(log n)
+            if (lt - lo < hi - (gt + 1))
+            {
+                threeWay(a, lo, lt, depth, c, level + 1);
+                lo = gt + 1;
+            }
+            else
+            {
+                threeWay(a, gt + 1, hi, depth, c, level + 1);
+                hi = lt;
+            }
+        }
+
+        insertionSort(a, lo, hi, c);
+    }
+
+    // ------------------------------------------------------------
+    // Dual-pivot partition
+    // ------------------------------------------------------------
+
+    private static <T extends Comparable<? super T>> void dualPivot(
+            T[] a, int lo, int hi, int depth, Counters c, int level)
+    {
+        c.depth(level);
+
+        if (hi - lo <= INSERTION_CUTOFF)
+        {
+            insertionSort(a, lo, hi, c);
+            return;
+        }
+
+        if (depth == 0)
+        {
+            ArraySorts.heapSort(a, lo, hi, c);
+            return;
+        }
+
+        int last = hi - 1;
+        int third = (hi - lo) / 3;
+        int e1 = lo + third;
+        int e2 = last - third;
+
+        if (ArraySorts.compare(a[e1], a[e2], c) > 0)
+        {
+            ArraySorts.swap(a, e1, e2, c);
+        }
+
+        // equal pivots mean a block of duplicates; the fat partition handles that
+        if (ArraySorts.compare(a[e1], a[e2], c) == 0)
+        {
+            threeWay(a, lo, hi, depth, c, level + 1);
+            return;
+        }
+
+        ArraySorts.swap(a, e1, lo, c);
+        ArraySorts.swap(a, e2, last, c);
+        T p1 = a[lo];
+        T p2 = a[last];
+
+        // [lo+1, less) < p1, [less, k) in [p1, p2], (great, last) > p2
+        int less = lo + 1;
+        int great = last - 1;
+
+        for (int k = less; k <= great; k++)
+        {
+            if (ArraySorts.compare(a[k], p1, c) < 0)
+            {
+                ArraySorts.swap(a, k, less++, c);
+            }
+            else if (ArraySorts.compare(a[k], p2, c) > 0)
+            {
+                while (k < great && ArraySorts.compare(a[great], p2, c) > 0)
+                {
+                    great--;
+                }
+
+                ArraySorts.swap(a, k, great--, c);
+
+                if (ArraySorts.compare(a[k], p1, c) < 0)
+                {
+                    ArraySorts.swap(a, k, less++, c);
+                }
+            }
+        }
+
+        ArraySorts.swap(a, lo, less - 1, c);
+        ArraySorts.swap(a, last, great + 1, c);
+
+        dualPivot(a, lo, less - 1, depth - 1, c, level + 1);
+        dualPivot(a, less, great + 1, depth - 1, c, level + 1);
+        dualPivot(a, great + 2, hi, depth - 1, c, level + 1);
+    }
+
+    // ------------------------------------------------------------
+    // Helpers
+    // ------------------------------------------------------------
+
+    // Median of three for mid-sized ranges, ninther for large ones
+    private static <T extends Comparable<? super T>> int choosePivot(T[] a, int lo, int hi, Counters c)
+    {
+        int n = hi - lo;
+        int mid = lo + n / 2;
+        int last = hi - 1;
+
+        if (n > NINTHER_CUTOFF)
+        {
+            int step = n / 8;
+            int m1 = median3(a, lo, lo + step, lo + 2 * step, c);
+            int m2 = median3(a, mid - step, mid, mid + step, c);
+            int m3 = median3(a, last - 2 * step, last - step, last, c);
+            return median3(a, m1, m2, m3, c);
+        }
+
+        return median3(a, lo, mid, last, c);
+    }
+
+    private static <T extends Comparable<? super T>> int median3(T[] a, int i, int j, int k, Counters c)
+    {
+        if (ArraySorts.compare(a[i], a[j], c) < 0)
+        {
+            if (ArraySorts.compare(a[j], a[k], c) < 0) return j;
+            return (ArraySorts.compare(a[i], a[k], c) < 0) ? k : i;
+        }
+
+        if (ArraySorts.compare(a[k], a[j], c) < 0) return j;
+        return (ArraySorts.compare(a[k], a[i], c) < 0) ? k : i;
+    }
+
+    static <T extends Comparable<? super T>> void insertionSort(T[] a, int lo, int hi, Counters c)
+    {
+        for (int i = lo + 1; i < hi; i++)
+        {
+            T x = a[i];
+            int j = i - 1;
+
+            while (j >= lo && ArraySorts.compare(a[j], x, c) > 0)
+            {
+                a[j + 1] = a[j];
+                j--;
+            }
+
+            a[j + 1] = x;
+            c.move(i - j);
+        }
+    }
+}
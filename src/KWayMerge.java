@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * @file: KWayMerge.java
+ * @description: Merges k sorted iterators into one sorted stream, using a
+ *               4-ary DaryMinHeap as the priority queue. Each heap entry
+ *               holds the current head of one source; ties go to the source
+ *               with the lower index, so merging runs in input order is
+ *               stable. Each step replaces the root with the next head of
+ *               the same source in a single sift-down.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public final class KWayMerge<T extends Comparable<? super T>> implements Iterator<T>
+{
+    private final List<? extends Iterator<? extends T>> sources;
+    private final DaryMinHeap<Head<T>> heap = new DaryMinHeap<>();
+
+    public KWayMerge(List<? extends Iterator<? extends T>> sources)
+    {
+        this.sources = sources;
+
+        for (int i = 0; i < sources.size(); i++)
+        {
+            Iterator<? extends T> it = sources.get(i);
+            if (it.hasNext())
+            {
+                heap.add(new Head<>(it.next(), i));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return !heap.isEmpty();
+    }
+
+    @Override
+    public T next()
+    {
+        if (heap.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+
+        Head<T> head = heap.peek();
+        Iterator<? extends T> it = sources.get(head.source);
+
+        if (it.hasNext())
+        {
+            heap.replaceTop(new Head<>(it.next(), head.source));
+        }
+        else
+        {
+            heap.poll();
+        }
+
+        return head.value;
+    }
+
+    // Current front element of one source
+    private static final class Head<T extends Comparable<? super T>> implements Comparable<Head<T>>
+    {
+        final T value;
+        final int source;
+
+        Head(T value, int source)
+        {
+            this.value = value;
+            this.source = source;
+        }
+
+        @Override
+        public int compareTo(Head<T> other)
+        {
+            int cmp = value.compareTo(other.value);
+            return (cmp != 0) ? cmp : Integer.compare(source, other.source);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * @file: LineWriter.java
+ * @description: Batched line output. Lines are encoded straight into a small
+ *               set of reusable direct ByteBuffers, and a full set is flushed
+ *               to a FileChannel with one gathering write. The buffer sets
+ *               come from a pool shared by all writers and go back to it on
+ *               close, so short-lived writers do not each allocate direct
+ *               memory. In write-behind mode a background thread does the
+ *               writes while the caller keeps encoding into the spare
+ *               buffers. One LineWriter can stay open in append mode for
+ *               every row of a run. Line count, bytes and elapsed time are
+ *               kept so callers can report lines per second.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public final class LineWriter implements AutoCloseable
+{
+    // Size of one direct buffer and number of buffers per gathering write
+    public static final int BUFFER_BYTES = 1 << 18;
+    public static final int BATCH = 4;
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    // Idle buffer sets shared by every LineWriter; at most two per core are kept
+    private static final BlockingQueue<ByteBuffer[]> POOL =
+            new ArrayBlockingQueue<>(2 * Runtime.getRuntime().availableProcessors());
+
+    private final FileChannel ch;
+    private final CharsetEncoder encoder;
+    private final boolean async;
+
+    private ByteBuffer[] batch;
+    private int current;
+
+    // write-behind: filled batches go to the writer, emptied ones come back
+    private ArrayBlockingQueue<ByteBuffer[]> filled;
+    private ArrayBlockingQueue<ByteBuffer[]> free;
+    private Thread writer;
+    private volatile IOException failure;
+
+    private long lines;
+    private long bytes;
+    private final long start = System.nanoTime();
+    private double seconds = -1;
+
+    // Unmappable characters are replaced, as PrintWriter does
+    public LineWriter(Path file, Charset charset, boolean append, boolean async) throws IOException
+    {
+        ch = append
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+
+        encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        this.async = async;
+        batch = acquire();
+
+        if (async)
+        {
+            filled = new ArrayBlockingQueue<>(1);
+            free = new ArrayBlockingQueue<>(2);
+            free.add(acquire());
+
+            writer = new Thread(this::writeBehind, "line-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    public void writeLine(Object line) throws IOException
+    {
+        encode(String.valueOf(line));
+        encode(NEWLINE);
+        lines++;
+    }
+
+    public void writeAll(Iterable<?> list) throws IOException
+    {
+        for (Object line : list)
+        {
+            writeLine(line);
+        }
+    }
+
+    // Pushes everything encoded so far to the file
+    public void flush() throws IOException
+    {
+        if (batch[0].position() > 0)
+        {
+            submit();
+        }
+
+        if (async)
+        {
+            // only two batches exist, so once the spare one is back the
+            // writer has nothing left in flight
+            free.add(take(free));
+        }
+        check();
+    }
+
+    // Flushes, then always stops the writer thread and closes the file,
+    // even when the flush fails
+    @Override
+    public void close() throws IOException
+    {
+        if (batch == null)
+        {
+            return;
+        }
+
+        try
+        {
+            flush();
+        }
+        finally
+        {
+            release();
+            ch.close();
+            seconds = (System.nanoTime() - start) / 1e9;
+        }
+    }
+
+    public long lines()
+    {
+        return lines;
+    }
+
+    public long bytes()
+    {
+        return bytes;
+    }
+
+    // Lines per second from open to close
+    public double linesPerSecond()
+    {
+        double s = (seconds < 0) ? (System.nanoTime() - start) / 1e9 : seconds;
+        return lines / s;
+    }
+
+    public double seconds()
+    {
+        return seconds;
+    }
+
+    // ------------------------------------------------------------
+    // Encoding + writing
+    // ------------------------------------------------------------
+
+    private void encode(String s) throws IOException
+    {
+        CharBuffer in = CharBuffer.wrap(s);
+        encoder.reset();
+
+        while (encoder.encode(in, batch[current], true).isOverflow())
+        {
+            nextBuffer();
+        }
+
+        while (encoder.flush(batch[current]).isOverflow())
+        {
+            nextBuffer();
+        }
+    }
+
+    private void nextBuffer() throws IOException
+    {
+        if (++current == batch.length)
+        {
+            submit();
+        }
+    }
+
+    // Hands the current batch to the channel, directly or via the writer thread
+    private void submit() throws IOException
+    {
+        for (ByteBuffer b : batch)
+        {
+            bytes += b.position();
+            b.flip();
+        }
+
+        if (async)
+        {
+            check();
+            put(filled, batch);
+            batch = take(free);
+        }
+        else
+        {
+            write(batch);
+        }
+        current = 0;
+    }
+
+    // Gathering write of one batch; leaves the buffers cleared for reuse
+    private void write(ByteBuffer[] buffers) throws IOException
+    {
+        long remaining = 0;
+        for (ByteBuffer b : buffers)
+        {
+            remaining += b.remaining();
+        }
+
+        while (remaining > 0)
+        {
+            remaining -= ch.write(buffers);
+        }
+
+        for (ByteBuffer b : buffers)
+        {
+            b.clear();
+        }
+    }
+
+    private void writeBehind()
+    {
+        try
+        {
+            while (true)
+            {
+                ByteBuffer[] buffers = filled.take();
+                try
+                {
+                    write(buffers);
+                }
+                catch (IOException e)
+                {
+                    failure = e;
+                }
+                free.put(buffers);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            // closed
+        }
+    }
+
+    private void check() throws IOException
+    {
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Buffer pool
+    // ------------------------------------------------------------
+
+    private static ByteBuffer[] acquire()
+    {
+        ByteBuffer[] buffers = POOL.poll();
+        if (buffers != null)
+        {
+            return buffers;
+        }
+
+        buffers = new ByteBuffer[BATCH];
+        for (int i = 0; i < BATCH; i++)
+        {
+            buffers[i] = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        }
+        return buffers;
+    }
+
+    // Stops the writer thread and returns every buffer set to the pool;
+    // sets are only pooled once no thread can still be writing from them
+    private void release()
+    {
+        ByteBuffer[] own = batch;
+        batch = null;
+
+        if (async)
+        {
+            writer.interrupt();
+            join(writer);
+
+            // an interrupted submit can leave the current set queued as well
+            recycleQueued(free, own);
+            recycleQueued(filled, own);
+        }
+
+        recycle(own);
+    }
+
+    private static void recycleQueued(ArrayBlockingQueue<ByteBuffer[]> queue, ByteBuffer[] own)
+    {
+        for (ByteBuffer[] buffers = queue.poll(); buffers != null; buffers = queue.poll())
+        {
+            if (buffers != own)
+            {
+                recycle(buffers);
+            }
+        }
+    }
+
+    private static void recycle(ByteBuffer[] buffers)
+    {
+        for (ByteBuffer b : buffers)
+        {
+            b.clear();
+        }
+        POOL.offer(buffers);
+    }
+
+    private static void put(ArrayBlockingQueue<ByteBuffer[]> queue, ByteBuffer[] buffers) throws IOException
+    {
+        try
+        {
+            queue.put(buffers);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing", e);
+        }
+    }
+
+    private static ByteBuffer[] take(ArrayBlockingQueue<ByteBuffer[]> queue) throws IOException
+    {
+        try
+        {
+            return queue.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing", e);
+        }
+    }
+
+    // Waits for t even if this thread is interrupted, so a closed writer
+    // never outlives close(); the interrupt is restored afterwards
+    private static void join(Thread t)
+    {
+        boolean interrupted = false;
+
+        while (true)
+        {
+            try
+            {
+                t.join();
+                break;
+            }
+            catch (InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
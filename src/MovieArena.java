@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * @file: MovieArena.java
+ * @description: Columnar arena for HorrorMovie records. All titles live in one
+ *               UTF-8 byte[] indexed by an offsets int[], the ratings live in
+ *               a double[], and sorting reorders an int[] permutation with
+ *               the ArraySorts index kernels instead of moving objects. The
+ *               comparator decodes and case-folds titles in place, so the
+ *               order is exactly HorrorMovie.compareTo's. HorrorMovie objects
+ *               are only created by the output views.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+
+public final class MovieArena implements ArraySorts.IndexComparator
+{
+    private final byte[] titles;
+    private final int[] offsets;
+    private final double[] ratings;
+    private final int[] perm;
+
+    // records whose title has surrogates; compared with compareToIgnoreCase
+    private final BitSet supplementary;
+
+    private MovieArena(byte[] titles, int[] offsets, double[] ratings, BitSet supplementary)
+    {
+        this.titles = titles;
+        this.offsets = offsets;
+        this.ratings = ratings;
+        this.supplementary = supplementary;
+        this.perm = new int[ratings.length];
+
+        for (int i = 0; i < perm.length; i++)
+        {
+            perm[i] = i;
+        }
+    }
+
+    public static MovieArena of(List<HorrorMovie> movies)
+    {
+        int n = movies.size();
+        byte[][] encoded = new byte[n][];
+        double[] ratings = new double[n];
+        BitSet supplementary = new BitSet(n);
+        long total = 0;
+
+        for (int i = 0; i < n; i++)
+        {
+            HorrorMovie m = movies.get(i);
+            encoded[i] = m.title().getBytes(StandardCharsets.UTF_8);
+            ratings[i] = m.rating();
+            total += encoded[i].length;
+
+            if (hasSurrogates(m.title()))
+            {
+                supplementary.set(i);
+            }
+        }
+
+        if (total > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Titles too large for one arena");
+        }
+
+        byte[] titles = new byte[(int) total];
+        int[] offsets = new int[n + 1];
+
+        for (int i = 0; i < n; i++)
+        {
+            System.arraycopy(encoded[i], 0, titles, offsets[i], encoded[i].length);
+            offsets[i + 1] = offsets[i] + encoded[i].length;
+        }
+
+        return new MovieArena(titles, offsets, ratings, supplementary);
+    }
+
+    public int size()
+    {
+        return ratings.length;
+    }
+
+    // ------------------------------------------------------------
+    // Sorting
+    // ------------------------------------------------------------
+
+    // Reorders the permutation with merge (stable), quick or heap sort
+    public void sort(String algo, Counters c)
+    {
+        switch (algo)
+        {
+            case "merge" -> ArraySorts.mergeSort(perm, 0, perm.length, this, c);
+            case "quick" -> ArraySorts.quickSort(perm, 0, perm.length, this, c);
+            case "heap" -> ArraySorts.heapSort(perm, 0, perm.length, this, c);
+            default -> throw new IllegalArgumentException("Arena sorts support merge, quick and heap");
+        }
+    }
+
+    // Same order as HorrorMovie.compareTo: rating descending, then title ignoring case
+    @Override
+    public int compare(int i, int j)
+    {
+        int cmp = Double.compare(ratings[j], ratings[i]);
+        if (cmp != 0) return cmp;
+
+        if (supplementary.get(i) || supplementary.get(j))
+        {
+            return title(i).compareToIgnoreCase(title(j));
+        }
+
+        return compareTitles(i, j);
+    }
+
+    // compareToIgnoreCase over the UTF-8 bytes of two BMP-only titles
+    private int compareTitles(int i, int j)
+    {
+        int p = offsets[i];
+        int pEnd = offsets[i + 1];
+        int q = offsets[j];
+        int qEnd = offsets[j + 1];
+
+        while (p < pEnd && q < qEnd)
+        {
+            byte b1 = titles[p];
+            byte b2 = titles[q];
+
+            // identical ASCII bytes need no decoding
+            if (b1 == b2 && b1 >= 0)
+            {
+                p++;
+                q++;
+                continue;
+            }
+
+            char c1 = decode(p);
+            char c2 = decode(q);
+            p += sequenceLength(b1);
+            q += sequenceLength(b2);
+
+            if (c1 != c2)
+            {
+                c1 = Character.toLowerCase(Character.toUpperCase(c1));
+                c2 = Character.toLowerCase(Character.toUpperCase(c2));
+                if (c1 != c2)
+                {
+                    return c1 - c2;
+                }
+            }
+        }
+
+        // equal prefixes: the shorter title sorts first
+        return Boolean.compare(p < pEnd, q < qEnd);
+    }
+
+    // The char encoded by the 1-3 byte sequence at titles[at]
+    private char decode(int at)
+    {
+        int b = titles[at];
+
+        if (b >= 0)
+        {
+            return (char) b;
+        }
+        else if ((b & 0xE0) == 0xC0)
+        {
+            return (char) (((b & 0x1F) << 6) | (titles[at + 1] & 0x3F));
+        }
+
+        return (char) (((b & 0x0F) << 12) | ((titles[at + 1] & 0x3F) << 6) | (titles[at + 2] & 0x3F));
+    }
+
+    private static int sequenceLength(byte lead)
+    {
+        if (lead >= 0) return 1;
+        return ((lead & 0xE0) == 0xC0) ? 2 : 3;
+    }
+
+    private static boolean hasSurrogates(String s)
+    {
+        for (int i = 0; i < s.length(); i++)
+        {
+            if (Character.isSurrogate(s.charAt(i)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ------------------------------------------------------------
+    // Views
+    // ------------------------------------------------------------
+
+    public String title(int record)
+    {
+        return new String(titles, offsets[record], offsets[record + 1] - offsets[record], StandardCharsets.UTF_8);
+    }
+
+    public double rating(int record)
+    {
+        return ratings[record];
+    }
+
+    // The movie at the given position in the current order, built on demand
+    public HorrorMovie get(int rank)
+    {
+        int record = perm[rank];
+        return new HorrorMovie(title(record), ratings[record]);
+    }
+
+    // Read-only list view in the current order; movies are built per access
+    public List<HorrorMovie> view()
+    {
+        return new AbstractList<>()
+        {
+            @Override
+            public HorrorMovie get(int rank)
+            {
+                return MovieArena.this.get(rank);
+            }
+
+            @Override
+            public int size()
+            {
+                return perm.length;
+            }
+        };
+    }
+
+    // ------------------------------------------------------------
+    // Footprint
+    // ------------------------------------------------------------
+
+    // Heap bytes held by the arena's arrays
+    public long bytes()
+    {
+        return array(titles.length) + array(4L * offsets.length) + array(8L * ratings.length)
+                + array(4L * perm.length) + array(supplementary.size() / 8);
+    }
+
+    // Estimated heap bytes of the same records as an ArrayList of
+    // HorrorMovie objects (64-bit JVM, compressed oops, compact strings)
+    public static long objectBytes(List<HorrorMovie> movies)
+    {
+        long total = array(4L * movies.size());
+
+        for (HorrorMovie m : movies)
+        {
+            // movie: header, title reference, double; String: header, hash,
+            // coder, value reference; then the String's byte[]
+            total += align(12 + 4 + 8) + align(12 + 4 + 1 + 1 + 4) + array(stringBytes(m.title()));
+        }
+
+        return total;
+    }
+
+    private static long stringBytes(String s)
+    {
+        for (int i = 0; i < s.length(); i++)
+        {
+            if (s.charAt(i) > 0xFF)
+            {
+                return 2L * s.length();
+            }
+        }
+        return s.length();
+    }
+
+    // Array header plus payload, padded to 8 bytes
+    private static long array(long payload)
+    {
+        return align(16 + payload);
+    }
+
+    private static long align(long bytes)
+    {
+        return (bytes + 7) & ~7L;
+    }
+}
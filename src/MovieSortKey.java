@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * @file: MovieSortKey.java
+ * @description: Precomputed sort key for HorrorMovie (decorate-sort-
+ *               undecorate). The rating is stored as a long whose signed
+ *               order is the reverse of Double.compare, and the title is
+ *               case-folded once into a char[] so comparisons are a long
+ *               compare plus a vectorized array compare. The resulting order
+ *               is exactly HorrorMovie.compareTo's.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public final class MovieSortKey implements Comparable<MovieSortKey>
+{
+    private final long ratingKey;
+    private final char[] foldedTitle;
+    private final boolean supplementary;
+    private final HorrorMovie movie;
+
+    public MovieSortKey(HorrorMovie movie)
+    {
+        this.movie = movie;
+        this.ratingKey = descendingKey(movie.rating());
+
+        String title = movie.title();
+        char[] folded = new char[title.length()];
+        boolean surrogates = false;
+
+        for (int i = 0; i < folded.length; i++)
+        {
+            char c = title.charAt(i);
+            surrogates |= Character.isSurrogate(c);
+            folded[i] = Character.toLowerCase(Character.toUpperCase(c));
+        }
+
+        this.foldedTitle = folded;
+        this.supplementary = surrogates;
+    }
+
+    public HorrorMovie movie()
+    {
+        return movie;
+    }
+
+    // Maps Double.compare order onto signed long order, then inverts it
+    // so higher ratings come first
+    static long descendingKey(double rating)
+    {
+        long bits = Double.doubleToLongBits(rating);
+        return ~(bits ^ ((bits >> 63) & Long.MAX_VALUE));
+    }
+
+    @Override
+    public int compareTo(MovieSortKey other)
+    {
+        int cmp = Long.compare(ratingKey, other.ratingKey);
+        if (cmp != 0) return cmp;
+
+        // compareToIgnoreCase folds supplementary characters by code point,
+        // which the per-char key cannot reproduce
+        if (supplementary || other.supplementary)
+        {
+            return movie.title().compareToIgnoreCase(other.movie.title());
+        }
+
+        return Arrays.compare(foldedTitle, other.foldedTitle);
+    }
+
+    // Decorates the movies, sorts the keys with the named Proj3 algorithm
+    // and writes the movies back in key order
+    public static Proj3.Result sort(String algo, String name, ArrayList<HorrorMovie> movies, Counters c)
+    {
+        ArrayList<MovieSortKey> keys = new ArrayList<>(movies.size());
+        for (HorrorMovie m : movies)
+        {
+            keys.add(new MovieSortKey(m));
+        }
+
+        Proj3.Result r = Proj3.run(algo, name, keys, c);
+
+        for (int i = 0; i < keys.size(); i++)
+        {
+            movies.set(i, keys.get(i).movie);
+        }
+
+        return r;
+    }
+}
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * @file: MsdRadixSort.java
+ * @description: String-specialized sort for the raw CSV lines. MSD radix
+ *               sort distributes on one byte of the UTF-16 char at a time
+ *               (high byte, then low byte), so shared prefixes are examined
+ *               once instead of on every comparison. Buckets below a cutoff
+ *               switch to three-way radix quicksort (multikey quicksort).
+ *               The ordering is exactly String.compareTo's. Counters see
+ *               each char test against a pivot and each insertion-sort
+ *               string comparison as one compare.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+public final class MsdRadixSort
+{
+    // One digit is a byte; slot 0 is reserved for end-of-string
+    private static final int RADIX = 256;
+
+    // Buckets at or below this size use multikey quicksort
+    private static final int MSD_CUTOFF = 512;
+
+    // Ranges at or below this size use insertion sort
+    private static final int INSERTION_CUTOFF = 12;
+
+    private MsdRadixSort()
+    {
+    }
+
+    public static void sort(String[] a, int from, int to)
+    {
+        sort(a, from, to, Counters.NONE);
+    }
+
+    public static void sort(String[] a, int from, int to, Counters c)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        String[] aux = new String[to - from];
+        c.buffer((long) aux.length * Counters.REFERENCE_BYTES);
+        msd(a, aux, from, to, 0, c, 0);
+    }
+
+    // Three-way radix quicksort on its own, without the MSD passes
+    public static void multikeySort(String[] a, int from, int to)
+    {
+        multikey(a, from, to, 0, Counters.NONE, 0);
+    }
+
+    // ------------------------------------------------------------
+    // MSD radix sort on byte digits
+    // ------------------------------------------------------------
+
+    // Byte digit d of s: even d is the high byte of char d/2, odd d the low
+    // byte; -1 once s has no char at d/2
+    private static int byteAt(String s, int d)
+    {
+        int index = d >>> 1;
+        if (index >= s.length())
+        {
+            return -1;
+        }
+
+        char c = s.charAt(index);
+        return ((d & 1) == 0) ? (c >>> 8) : (c & 0xFF);
+    }
+
+    private static void msd(String[] a, String[] aux, int lo, int hi, int d, Counters c, int level)
+    {
+        c.depth(level);
+
+        if (hi - lo <= MSD_CUTOFF)
+        {
+            // every string here agrees on chars [0, d/2)
+            multikey(a, lo, hi, d >>> 1, c, level + 1);
+            return;
+        }
+
+        int[] count = new int[RADIX + 2];
+        c.buffer((long) count.length * Integer.BYTES);
+
+        for (int i = lo; i < hi; i++)
+        {
+            count[byteAt(a[i], d) + 2]++;
+        }
+
+        for (int r = 0; r < RADIX + 1; r++)
+        {
+            count[r + 1] += count[r];
+        }
+
+        for (int i = lo; i < hi; i++)
+        {
+            aux[count[byteAt(a[i], d) + 1]++] = a[i];
+        }
+
+        System.arraycopy(aux, 0, a, lo, hi - lo);
+        c.move(2L * (hi - lo));
+
+        // bucket 0 holds strings that ended; they are all equal
+        for (int r = 1; r < RADIX + 1; r++)
+        {
+            int bucketLo = lo + count[r - 1];
+            int bucketHi = lo + count[r];
+
+            if (bucketHi - bucketLo > 1)
+            {
+                msd(a, aux, bucketLo, bucketHi, d + 1, c, level + 1);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Multikey quicksort on chars
+    // ------------------------------------------------------------
+
+    private static int charAt(String s, int d)
+    {
+        return (d < s.length()) ? s.charAt(d) : -1;
+    }
+
+    private static void multikey(String[] a, int lo, int hi, int d, Counters c, int level)
+    {
+        c.depth(level);
+
+        while (hi - lo > INSERTION_CUTOFF)
+        {
+            int pivot = charAt(a[medianOf3(a, lo, lo + (hi - lo) / 2, hi - 1, d)], d);
+
+            // [lo, lt) < pivot, [lt, i) == pivot, (gt, hi) > pivot at char d
+            int lt = lo;
+            int gt = hi - 1;
+            int i = lo;
+
+            while (i <= gt)
+            {
+                int ch = charAt(a[i], d);
+                c.compare();
+
+                if (ch < pivot)
+                {
+                    ArraySorts.swap(a, lt++, i++, c);
+                }
+                else if (ch > pivot)
+                {
+                    ArraySorts.swap(a, i, gt--, c);
+                }
+                else
+                {
+                    i++;
+                }
+            }
+
+            multikey(a, lo, lt, d, c, level + 1);
+            multikey(a, gt + 1, hi, d, c, level + 1);
+
+            // the equal band moves on to the next char, or is done if it ended
+            if (pivot < 0)
+            {
+                return;
+            }
+
+            lo = lt;
+            hi = gt + 1;
+            d++;
+        }
+
+        insertionSort(a, lo, hi, d, c);
+    }
+
+    private static int medianOf3(String[] a, int i, int j, int k, int d)
+    {
+        int x = charAt(a[i], d);
+        int y = charAt(a[j], d);
+        int z = charAt(a[k], d);
+
+        if (x < y)
+        {
+            if (y < z) return j;
+            return (x < z) ? k : i;
+        }
+
+        if (z < y) return j;
+        return (z < x) ? k : i;
+    }
+
+    // All strings in a[lo, hi) share their first d chars
+    private static void insertionSort(String[] a, int lo, int hi, int d, Counters c)
+    {
+        for (int i = lo + 1; i < hi; i++)
+        {
+            String x = a[i];
+            int j = i - 1;
+
+            while (j >= lo && lessFrom(x, a[j], d, c))
+            {
+                a[j + 1] = a[j];
+                j--;
+            }
+
+            a[j + 1] = x;
+            c.move(i - j);
+        }
+    }
+
+    private static boolean lessFrom(String v, String w, int d, Counters c)
+    {
+        c.compare();
+        int n = Math.min(v.length(), w.length());
+
+        for (int i = d; i < n; i++)
+        {
+            char c1 = v.charAt(i);
+            char c2 = w.charAt(i);
+
+            if (c1 != c2)
+            {
+                return c1 < c2;
+            }
+        }
+
+        return v.length() < w.length();
+    }
+}
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * @file: ParallelMergeSort.java
+ * @description: Fork-join merge sort that allocates a single auxiliary buffer
+ *               the size of the sorted slice up front and ping-pongs between
+ *               it and the input array at each level of recursion. Ranges
+ *               below a threshold fall back to the sequential path. Pools
+ *               are kept per parallelism level and reused across calls. The
+ *               sort is stable, so it produces the same ordering as
+ *               Proj3.mergeSort.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public final class ParallelMergeSort
+{
+    // Ranges at or below this size are sorted on the calling thread
+    public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    // Ranges at or below this size are insertion sorted in place
+    private static final int INSERTION_CUTOFF = 16;
+
+    // One pool per parallelism level, created on first use; the workers are
+    // daemon threads, so the pools never hold the JVM open
+    private static final ConcurrentHashMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private ParallelMergeSort()
+    {
+    }
+
+    // ------------------------------------------------------------
+    // ArrayList adapter
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> void sort(ArrayList<T> a, int parallelism)
+    {
+        sort(a, parallelism, Counters.NONE);
+    }
+
+    // Sorts the whole list using the given number of worker threads
+    public static <T extends Comparable<? super T>> void sort(ArrayList<T> a, int parallelism, Counters c)
+    {
+        if (a == null || a.size() < 2)
+        {
+            return;
+        }
+
+        T[] arr = toArray(a);
+        sort(arr, 0, arr.length, parallelism, DEFAULT_THRESHOLD, c);
+
+        for (int i = 0; i < arr.length; i++)
+        {
+            a.set(i, arr[i]);
+        }
+    }
+
+    // The list's elements in a Comparable[] viewed as T[]; every element is
+    // a T, so reading through the cast is safe
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T extends Comparable<? super T>> T[] toArray(ArrayList<T> a)
+    {
+        return (T[]) a.toArray(new Comparable[0]);
+    }
+
+    // ------------------------------------------------------------
+    // Array kernel
+    // ------------------------------------------------------------
+
+    // Sorts a[from, to) on a pool of the given size; threshold controls when
+    // a task stops forking and runs the sequential path. The workers share
+    // c, so it must be safe for concurrent use.
+    public static <T extends Comparable<? super T>> void sort(
+            T[] a, int from, int to, int parallelism, int threshold, Counters c)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        // one buffer the size of the slice, holding a copy of it; buf[i - from]
+        // shadows a[i]
+        T[] buf = Arrays.copyOfRange(a, from, to);
+        c.buffer((long) buf.length * Counters.REFERENCE_BYTES);
+
+        if (parallelism <= 1 || to - from <= threshold)
+        {
+            sequential(buf, from, a, 0, from, to, c, 0);
+            return;
+        }
+
+        pool(parallelism).invoke(
+                new MergeTask<>(buf, from, a, 0, from, to, Math.max(threshold, INSERTION_CUTOFF), c, 0));
+    }
+
+    // The common pool when it has the requested parallelism, otherwise a
+    // cached pool of that size
+    private static ForkJoinPool pool(int parallelism)
+    {
+        if (parallelism == ForkJoinPool.getCommonPoolParallelism())
+        {
+            return ForkJoinPool.commonPool();
+        }
+        return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+
+    // Sorts the logical range [lo, hi) from src into dst; logical index i
+    // lives at src[i - srcOff] and dst[i - dOff]. Both ranges must hold the
+    // same elements on entry, and src is used as scratch space.
+    static <T extends Comparable<? super T>> void sequential(
+            T[] src, int srcOff, T[] dst, int dOff, int lo, int hi, Counters c, int level)
+    {
+        c.depth(level);
+
+        if (hi - lo <= INSERTION_CUTOFF)
+        {
+            insertionSort(dst, lo - dOff, hi - dOff, c);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        sequential(dst, dOff, src, srcOff, lo, mid, c, level + 1);
+        sequential(dst, dOff, src, srcOff, mid, hi, c, level + 1);
+        merge(src, srcOff, dst, dOff, lo, mid, hi, c);
+    }
+
+    // Stable merge of the logical ranges [lo, mid) and [mid, hi) of src into
+    // [lo, hi) of dst, with the same offsets as sequential
+    static <T extends Comparable<? super T>> void merge(
+            T[] src, int srcOff, T[] dst, int dOff, int lo, int mid, int hi, Counters c)
+    {
+        c.move(hi - lo);
+
+        // halves already in order: a straight copy keeps presorted input linear
+        if (ArraySorts.compare(src[mid - 1 - srcOff], src[mid - srcOff], c) <= 0)
+        {
+            System.arraycopy(src, lo - srcOff, dst, lo - dOff, hi - lo);
+            return;
+        }
+
+        int i = lo - srcOff;
+        int j = mid - srcOff;
+        int iEnd = mid - srcOff;
+        int jEnd = hi - srcOff;
+
+        for (int k = lo - dOff; k < hi - dOff; k++)
+        {
+            if (j >= jEnd || (i < iEnd && ArraySorts.compare(src[i], src[j], c) <= 0))
+            {
+                dst[k] = src[i++];
+            }
+            else
+            {
+                dst[k] = src[j++];
+            }
+        }
+    }
+
+    private static <T extends Comparable<? super T>> void insertionSort(T[] a, int lo, int hi, Counters c)
+    {
+        for (int i = lo + 1; i < hi; i++)
+        {
+            T x = a[i];
+            int j = i - 1;
+
+            while (j >= lo && ArraySorts.compare(a[j], x, c) > 0)
+            {
+                a[j + 1] = a[j];
+                j--;
+            }
+
+            a[j + 1] = x;
+            c.move(i - j);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Fork-join task
+    // ------------------------------------------------------------
+
+    private static final class MergeTask<T extends Comparable<? super T>> extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] src;
+        private final int srcOff;
+        private final T[] dst;
+        private final int dOff;
+        private final int lo;
+        private final int hi;
+        private final int threshold;
+        private final Counters c;
+        private final int level;
+
+        MergeTask(T[] src, int srcOff, T[] dst, int dOff, int lo, int hi, int threshold, Counters c, int level)
+        {
+            this.src = src;
+            this.srcOff = srcOff;
+            this.dst = dst;
+            this.dOff = dOff;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+            this.c = c;
+            this.level = level;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (hi - lo <= threshold)
+            {
+                sequential(src, srcOff, dst, dOff, lo, hi, c, level);
+                return;
+            }
+
+            c.depth(level);
+
+            // children sort into src using dst as scratch, then we merge back
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new MergeTask<>(dst, dOff, src, srcOff, lo, mid, threshold, c, level + 1),
+                      new MergeTask<>(dst, dOff, src, srcOff, mid, hi, threshold, c, level + 1));
+            merge(src, srcOff, dst, dOff, lo, mid, hi, c);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+/*******************************************************************************
+ * @file: ParallelTranspositionSort.java
+ * @description: Multi-threaded odd-even transposition sort. The phase engine
+ *               splits each odd/even phase's disjoint compare-swap pairs into
+ *               blocks handled by worker threads, with a barrier between
+ *               phases, and counts comparisons exactly like
+ *               Proj3.transpositionSort (parallel comparison steps). The
+ *               block engine merge sorts one block per worker in
+ *               O((n/p) log(n/p)) and then runs p merge-split phases between
+ *               neighbouring blocks, so its work scales with cores rather
+ *               than n. It reports a different figure: the comparisons made
+ *               on its critical path (the slowest worker in each step).
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.ArrayList;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+public final class ParallelTranspositionSort
+{
+    // Smallest number of elements worth giving a phase-engine worker
+    private static final int MIN_ELEMENTS_PER_WORKER = 1024;
+
+    private ParallelTranspositionSort()
+    {
+    }
+
+    // ------------------------------------------------------------
+    // ArrayList adapters
+    // ------------------------------------------------------------
+
+    // Phase-parallel odd-even transposition sort; returns the same
+    // comparison count as Proj3.transpositionSort
+    public static <T extends Comparable<? super T>> int phaseSort(
+            ArrayList<T> a, int size, int workers, Counters c)
+    {
+        T[] arr = toArray(a, size);
+        int comparisons = phaseSort(arr, workers, c);
+        copyBack(arr, a);
+        return comparisons;
+    }
+
+    // Block odd-even transposition sort; returns the comparisons on the
+    // critical path, which is not the phase count the other two return
+    public static <T extends Comparable<? super T>> int blockSort(
+            ArrayList<T> a, int size, int workers, Counters c)
+    {
+        T[] arr = toArray(a, size);
+        int comparisons = blockSort(arr, workers, c);
+        copyBack(arr, a);
+        return comparisons;
+    }
+
+    // The first size elements in a Comparable[] viewed as T[]; every
+    // element is a T, so reading through the cast is safe
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T extends Comparable<? super T>> T[] toArray(ArrayList<T> a, int size)
+    {
+        return (T[]) a.subList(0, size).toArray(new Comparable[0]);
+    }
+
+    private static <T> void copyBack(T[] arr, ArrayList<T> a)
+    {
+        for (int i = 0; i < arr.length; i++)
+        {
+            a.set(i, arr[i]);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Phase engine
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> int phaseSort(T[] a, int workers)
+    {
+        return phaseSort(a, workers, Counters.NONE);
+    }
+
+    // Every worker reports to c, so it must be safe for concurrent use
+    public static <T extends Comparable<? super T>> int phaseSort(T[] a, int workers, Counters c)
+    {
+        int size = a.length;
+        int p = Math.max(1, Math.min(workers, size / MIN_ELEMENTS_PER_WORKER));
+        PhaseEngine<T> engine = new PhaseEngine<>(a, p, c);
+        engine.runAll();
+        return engine.comparisons;
+    }
+
+    private static final class PhaseEngine<T extends Comparable<? super T>>
+    {
+        private final T[] a;
+        private final int size;
+        private final int workers;
+        private final boolean[] swapped;
+        private final CyclicBarrier barrier;
+        private final Counters c;
+
+        // written only by the barrier action, read after the barrier trips
+        private boolean oddPhase = true;
+        private boolean done;
+        private int comparisons;
+
+        PhaseEngine(T[] a, int workers, Counters c)
+        {
+            this.a = a;
+            this.size = a.length;
+            this.workers = workers;
+            this.swapped = new boolean[workers];
+            this.barrier = new CyclicBarrier(workers, this::endOfPhase);
+            this.c = c;
+        }
+
+        // Runs on the last thread to arrive; mirrors the serial bookkeeping
+        private void endOfPhase()
+        {
+            if (oddPhase)
+            {
+                if (size > 2)
+                {
+                    comparisons++;
+                }
+            }
+            else
+            {
+                if (size > 1)
+                {
+                    comparisons++;
+                }
+
+                done = true;
+                for (int w = 0; w < workers; w++)
+                {
+                    if (swapped[w])
+                    {
+                        done = false;
+                    }
+                    swapped[w] = false;
+                }
+            }
+
+            oddPhase = !oddPhase;
+        }
+
+        void runAll()
+        {
+            runWorkers(workers, this::work);
+        }
+
+        private void work(int w)
+        {
+            int lo = (int) ((long) size * w / workers);
+            int hi = (int) ((long) size * (w + 1) / workers);
+
+            while (true)
+            {
+                // odd phase: pairs (1,2), (3,4), ...
+                swapped[w] |= compareSwapPairs(lo | 1, hi);
+                await(barrier);
+
+                // even phase: pairs (0,1), (2,3), ...
+                swapped[w] |= compareSwapPairs((lo + 1) & ~1, hi);
+                await(barrier);
+
+                if (done)
+                {
+                    return;
+                }
+            }
+        }
+
+        // Compare-swaps every pair (i, i + 1) with i stepping by two from start
+        private boolean compareSwapPairs(int start, int hi)
+        {
+            boolean any = false;
+
+            for (int i = start; i < hi && i < size - 1; i += 2)
+            {
+                T x = a[i];
+                T y = a[i + 1];
+
+                if (ArraySorts.compare(x, y, c) > 0)
+                {
+                    a[i] = y;
+                    a[i + 1] = x;
+                    c.swap();
+                    any = true;
+                }
+            }
+
+            return any;
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Block engine
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> int blockSort(T[] a, int workers)
+    {
+        return blockSort(a, workers, Counters.NONE);
+    }
+
+    // Every worker reports to c, so it must be safe for concurrent use
+    public static <T extends Comparable<? super T>> int blockSort(T[] a, int workers, Counters c)
+    {
+        if (a.length < 2)
+        {
+            return 0;
+        }
+
+        BlockEngine<T> engine = new BlockEngine<>(a, Math.max(1, Math.min(workers, a.length)), c);
+        engine.runAll();
+        return (int) engine.comparisons;
+    }
+
+    private static final class BlockEngine<T extends Comparable<? super T>>
+    {
+        private final T[] a;
+        private final T[] buf;
+        private final int p;
+        private final int[] start;
+        private final long[] stepComparisons;
+        private final CyclicBarrier barrier;
+        private final Counters c;
+
+        private long comparisons;
+
+        BlockEngine(T[] a, int p, Counters c)
+        {
+            this.a = a;
+            this.buf = a.clone();
+            this.c = c;
+            c.buffer((long) buf.length * Counters.REFERENCE_BYTES);
+            this.p = p;
+            this.start = new int[p + 1];
+            this.stepComparisons = new long[p];
+            this.barrier = new CyclicBarrier(p, this::endOfStep);
+
+            for (int b = 0; b <= p; b++)
+            {
+                start[b] = (int) ((long) a.length * b / p);
+            }
+        }
+
+        // Workers ran in parallel, so a step costs its slowest worker's count
+        private void endOfStep()
+        {
+            long max = 0;
+            for (int w = 0; w < p; w++)
+            {
+                max = Math.max(max, stepComparisons[w]);
+                stepComparisons[w] = 0;
+            }
+            comparisons += max;
+        }
+
+        void runAll()
+        {
+            runWorkers(p, this::work);
+        }
+
+        private void work(int w)
+        {
+            int lo = start[w];
+            int hi = start[w + 1];
+
+            // merge sort of this worker's block, scratch lives in buf
+            stepComparisons[w] += localSort(lo, hi, 0);
+            await(barrier);
+
+            // p merge-split phases are enough for p sorted blocks
+            for (int phase = 0; phase < p; phase++)
+            {
+                boolean lower = (w % 2) == (phase % 2);
+                int partner = lower ? w + 1 : w - 1;
+
+                if (partner >= 0 && partner < p)
+                {
+                    if (lower)
+                    {
+                        stepComparisons[w] += mergeLow(lo, hi, start[partner + 1]);
+                    }
+                    else
+                    {
+                        stepComparisons[w] += mergeHigh(start[partner], lo, hi);
+                    }
+                }
+
+                await(barrier);
+
+                if (partner >= 0 && partner < p)
+                {
+                    System.arraycopy(buf, lo, a, lo, hi - lo);
+                    c.move(hi - lo);
+                }
+
+                await(barrier);
+            }
+        }
+
+        // Stable merge sort of a[lo, hi) using buf[lo, hi) as scratch;
+        // returns the comparisons made
+        private long localSort(int lo, int hi, int level)
+        {
+            c.depth(level);
+            if (hi - lo < 2)
+            {
+                return 0;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            long count = localSort(lo, mid, level + 1) + localSort(mid, hi, level + 1) + 1;
+
+            // halves already in order
+            if (ArraySorts.compare(a[mid - 1], a[mid], c) <= 0)
+            {
+                return count;
+            }
+
+            System.arraycopy(a, lo, buf, lo, hi - lo);
+            c.move(2L * (hi - lo));
+            int i = lo;
+            int j = mid;
+
+            for (int k = lo; k < hi; k++)
+            {
+                if (i >= mid)
+                {
+                    a[k] = buf[j++];
+                }
+                else if (j >= hi)
+                {
+                    a[k] = buf[i++];
+                }
+                else
+                {
+                    count++;
+                    a[k] = (ArraySorts.compare(buf[j], buf[i], c) < 0) ? buf[j++] : buf[i++];
+                }
+            }
+
+            return count;
+        }
+
+        // Keeps the smallest (mid - lo) elements of a[lo, mid) and a[mid, hi),
+        // merging from the front into buf[lo, mid)
+        private long mergeLow(int lo, int mid, int hi)
+        {
+            long count = 0;
+            int i = lo;
+            int j = mid;
+
+            for (int k = lo; k < mid; k++)
+            {
+                if (j >= hi)
+                {
+                    buf[k] = a[i++];
+                }
+                else
+                {
+                    count++;
+                    buf[k] = (ArraySorts.compare(a[i], a[j], c) <= 0) ? a[i++] : a[j++];
+                }
+            }
+
+            c.move(mid - lo);
+            return count;
+        }
+
+        // Keeps the largest (hi - mid) elements of a[lo, mid) and a[mid, hi),
+        // merging from the back into buf[mid, hi); ties go to the right block
+        private long mergeHigh(int lo, int mid, int hi)
+        {
+            long count = 0;
+            int i = mid - 1;
+            int j = hi - 1;
+
+            for (int k = hi - 1; k >= mid; k--)
+            {
+                if (i < lo)
+                {
+                    buf[k] = a[j--];
+                }
+                else
+                {
+                    count++;
+                    buf[k] = (ArraySorts.compare(a[i], a[j], c) > 0) ? a[i--] : a[j--];
+                }
+            }
+
+            c.move(hi - mid);
+            return count;
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Thread helpers
+    // ------------------------------------------------------------
+
+    private interface Worker
+    {
+        void work(int index);
+    }
+
+    // Runs worker 0 on the calling thread and the rest on new threads
+    private static void runWorkers(int count, Worker worker)
+    {
+        Thread[] threads = new Thread[count - 1];
+
+        for (int w = 1; w < count; w++)
+        {
+            final int index = w;
+            threads[w - 1] = new Thread(() -> worker.work(index), "transposition-" + w);
+            threads[w - 1].start();
+        }
+
+        worker.work(0);
+
+        for (Thread t : threads)
+        {
+            try
+            {
+                t.join();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sorting", e);
+            }
+        }
+    }
+
+    private static void await(CyclicBarrier barrier)
+    {
+        try
+        {
+            barrier.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sorting", e);
+        }
+        catch (BrokenBarrierException e)
+        {
+            throw new IllegalStateException("Phase barrier broken", e);
+        }
+    }
+}
@@ -9,66 +9,69 @@
 
 import java.io.BufferedReader;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
 
 public class Proj3
 {
+    // Worker threads for the parallel algorithms (--threads)
+    static int threads = Runtime.getRuntime().availableProcessors();
+
+    // Result size for the top-K modes (--k)
+    static int topK = 100;
+
+    // Untimed warmup runs and timed runs per case (--warmup, --iterations)
+    static int warmup = 0;
+    static int iterations = 1;
+
+    // Write sorted.txt from a background thread (--output async)
+    static boolean asyncOutput = false;
+
+    // Record operation counters in an extra untimed run per case (--counters on)
+    static boolean recordCounters = false;
+
+    // Gate mode: record a new baseline instead of checking; set when a check fails
+    static boolean recordBaseline = false;
+    private static boolean gateFailed = false;
+
+    // One append handle per results file, closed when main returns
+    private static final Map<String, LineWriter> appendHandles = new HashMap<>();
+
     // ------------------------------------------------------------
     // Merge Sort
     // ------------------------------------------------------------
+    // The sort entry points copy into an array, run the ArraySorts kernel
+    // and copy back; partition remains as an ArrayList helper.
 
     public static <T extends Comparable<? super T>> void mergeSort(ArrayList<T> a, int left, int right)
     {
-        if (a == null || left >= right)
-        {
-            return;
-        }
-
-        int mid = left + (right - left) / 2;
-        mergeSort(a, left, mid);
-        mergeSort(a, mid + 1, right);
-        merge(a, left, mid, right);
+        mergeSort(a, left, right, Counters.NONE);
     }
 
-    public static <T extends Comparable<? super T>> void merge(ArrayList<T> a, int left, int mid, int right)
+    public static <T extends Comparable<? super T>> void mergeSort(
+            ArrayList<T> a, int left, int right, Counters c)
     {
-        ArrayList<T> temp = new ArrayList<>(right - left + 1);
-
-        int i = left;
-        int j = mid + 1;
-
-        while (i <= mid && j <= right)
-        {
-            if (a.get(i).compareTo(a.get(j)) <= 0)
-            {
-                temp.add(a.get(i++));
-            }
-            else
-            {
-                temp.add(a.get(j++));
-            }
-        }
-
-        while (i <= mid)
-        {
-            temp.add(a.get(i++));
-        }
-
-        while (j <= right)
+        if (a == null || left >= right)
         {
-            temp.add(a.get(j++));
+            return;
         }
 
-        for (int k = 0; k < temp.size(); k++)
-        {
-            a.set(left + k, temp.get(k));
-        }
+        T[] arr = toArray(a, left, right);
+        ArraySorts.mergeSort(arr, 0, arr.length, c);
+        copyBack(arr, a, left);
     }
 
     // ------------------------------------------------------------
@@ -77,45 +80,48 @@ public class Proj3
 
     public static <T extends Comparable<? super T>> void quickSort(ArrayList<T> a, int left, int right)
     {
-        if (a == null || left >= right)
-        {
-            return;
-        }
+        quickSort(a, left, right, Counters.NONE);
+    }
 
-        if (right - left < 2)
+    public static <T extends Comparable<? super T>> void quickSort(
+            ArrayList<T> a, int left, int right, Counters c)
+    {
+        if (a == null || left >= right)
         {
-            if (a.get(left).compareTo(a.get(right)) > 0)
-            {
-                swap(a, left, right);
-            }
             return;
         }
 
-        int pivotIndex = partition(a, left, right);
-        quickSort(a, left, pivotIndex - 1);
-        quickSort(a, pivotIndex + 1, right);
+        T[] arr = toArray(a, left, right);
+        ArraySorts.quickSort(arr, 0, arr.length, c);
+        copyBack(arr, a, left);
     }
 
     public static <T extends Comparable<? super T>> int partition(ArrayList<T> a, int left, int right)
+    {
+        return partition(a, left, right, Counters.NONE);
+    }
+
+    public static <T extends Comparable<? super T>> int partition(
+            ArrayList<T> a, int left, int right, Counters c)
     {
         int mid = left + (right - left) / 2;
 
-        if (a.get(left).compareTo(a.get(mid)) > 0)
+        if (ArraySorts.compare(a.get(left), a.get(mid), c) > 0)
         {
-            swap(a, left, mid);
+            swap(a, left, mid, c);
         }
 
-        if (a.get(left).compareTo(a.get(right)) > 0)
+        if (ArraySorts.compare(a.get(left), a.get(right), c) > 0)
         {
-            swap(a, left, right);
+            swap(a, left, right, c);
         }
 
-        if (a.get(mid).compareTo(a.get(right)) > 0)
+        if (ArraySorts.compare(a.get(mid), a.get(right), c) > 0)
         {
-            swap(a, mid, right);
+            swap(a, mid, right, c);
         }
 
-        swap(a, mid, right - 1);
+        swap(a, mid, right - 1, c);
         T pivot = a.get(right - 1);
 
         int i = left;
@@ -123,114 +129,170 @@ public class Proj3
 
         while (true)
         {
-            while (a.get(++i).compareTo(pivot) < 0) { }
-            while (a.get(--j).compareTo(pivot) > 0) { }
+            while (ArraySorts.compare(a.get(++i), pivot, c) < 0) { }
+            while (ArraySorts.compare(a.get(--j), pivot, c) > 0) { }
 
             if (i >= j)
             {
                 break;
             }
 
-            swap(a, i, j);
+            swap(a, i, j, c);
         }
 
-        swap(a, i, right - 1);
+        swap(a, i, right - 1, c);
         return i;
     }
 
-    static <T> void swap(ArrayList<T> a, int i, int j)
+    static <T> void swap(ArrayList<T> a, int i, int j, Counters c)
     {
+        c.swap();
         T temp = a.get(i);
         a.set(i, a.get(j));
         a.set(j, temp);
     }
 
     // ------------------------------------------------------------
-    // Heap Sort (max-heap)
+    // Intro Sort (fat partition, insertion cutoff, heap sort fallback)
     // ------------------------------------------------------------
 
-    public static <T extends Comparable<? super T>> void heapSort(ArrayList<T> a, int left, int right)
+    public static <T extends Comparable<? super T>> void introSort(ArrayList<T> a, int left, int right)
+    {
+        introSort(a, left, right, Counters.NONE);
+    }
+
+    public static <T extends Comparable<? super T>> void introSort(
+            ArrayList<T> a, int left, int right, Counters c)
     {
         if (a == null || left >= right)
         {
             return;
         }
 
-        heapify(a, left, right);
+        T[] arr = toArray(a, left, right);
+        IntroSort.sort(arr, 0, arr.length, c);
+        copyBack(arr, a, left);
+    }
+
+    public static <T extends Comparable<? super T>> void dualPivotSort(ArrayList<T> a, int left, int right)
+    {
+        dualPivotSort(a, left, right, Counters.NONE);
+    }
 
-        for (int end = right; end > left; end--)
+    public static <T extends Comparable<? super T>> void dualPivotSort(
+            ArrayList<T> a, int left, int right, Counters c)
+    {
+        if (a == null || left >= right)
         {
-            swap(a, left, end);
-            percolateDown(a, left, left, end - 1);
+            return;
         }
+
+        T[] arr = toArray(a, left, right);
+        IntroSort.dualPivotSort(arr, 0, arr.length, c);
+        copyBack(arr, a, left);
     }
 
-    public static <T extends Comparable<? super T>> void heapify(ArrayList<T> a, int left, int right)
+    // ------------------------------------------------------------
+    // MSD Radix Sort (strings only, multikey quicksort on small buckets)
+    // ------------------------------------------------------------
+
+    public static void msdSort(ArrayList<String> a, int left, int right)
     {
-        int lastParent = left + ((right - left) - 1) / 2;
+        msdSort(a, left, right, Counters.NONE);
+    }
 
-        for (int i = lastParent; i >= left; i--)
+    public static void msdSort(ArrayList<String> a, int left, int right, Counters c)
+    {
+        if (a == null || left >= right)
         {
-            percolateDown(a, i, left, right);
+            return;
         }
+
+        String[] arr = a.subList(left, right + 1).toArray(new String[0]);
+        MsdRadixSort.sort(arr, 0, arr.length, c);
+        copyBack(arr, a, left);
+    }
+
+    // ------------------------------------------------------------
+    // Adaptive Merge Sort (natural runs, galloping merges)
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> int adaptiveSort(ArrayList<T> a, int left, int right)
+    {
+        return adaptiveSort(a, left, right, Counters.NONE);
     }
 
-    private static <T extends Comparable<? super T>> void percolateDown(
-            ArrayList<T> a, int index, int leftBound, int rightBound)
+    // Returns the number of natural runs found in a[left..right]
+    public static <T extends Comparable<? super T>> int adaptiveSort(
+            ArrayList<T> a, int left, int right, Counters c)
     {
-        while (true)
+        if (a == null || left >= right)
         {
-            int leftChild = leftBound + 2 * (index - leftBound) + 1;
-            int rightChild = leftChild + 1;
-            int largest = index;
+            return (a == null || left > right) ? 0 : 1;
+        }
 
-            if (leftChild <= rightBound &&
-                    a.get(leftChild).compareTo(a.get(largest)) > 0)
-            {
-                largest = leftChild;
-            }
+        T[] arr = toArray(a, left, right);
+        int runs = AdaptiveMergeSort.sort(arr, 0, arr.length, c);
+        copyBack(arr, a, left);
+        return runs;
+    }
 
-            if (rightChild <= rightBound &&
-                    a.get(rightChild).compareTo(a.get(largest)) > 0)
-            {
-                largest = rightChild;
-            }
+    // ------------------------------------------------------------
+    // Sample Sort (parallel, buckets sorted with quick or heap sort)
+    // ------------------------------------------------------------
 
-            if (largest == index)
-            {
-                break;
-            }
+    public static <T extends Comparable<? super T>> Map<String, Double> sampleSort(
+            ArrayList<T> a, int threadCount, boolean useHeap)
+    {
+        return sampleSort(a, threadCount, useHeap, Counters.NONE);
+    }
 
-            swap(a, index, largest);
-            index = largest;
-        }
+    // Returns the seconds spent in each phase
+    public static <T extends Comparable<? super T>> Map<String, Double> sampleSort(
+            ArrayList<T> a, int threadCount, boolean useHeap, Counters c)
+    {
+        T[] arr = toArray(a, 0, a.size() - 1);
+        Map<String, Double> phases = SampleSort.sort(arr, threadCount, useHeap, c);
+        copyBack(arr, a, 0);
+        return phases;
     }
 
     // ------------------------------------------------------------
-    // Bubble Sort
+    // Heap Sort (max-heap)
     // ------------------------------------------------------------
 
-    public static <T extends Comparable<? super T>> int bubbleSort(ArrayList<T> a, int size)
+    public static <T extends Comparable<? super T>> void heapSort(ArrayList<T> a, int left, int right)
     {
-        int comparisons = 0;
-        boolean swapped = true;
+        heapSort(a, left, right, Counters.NONE);
+    }
 
-        for (int pass = 0; pass < size - 1 && swapped; pass++)
+    public static <T extends Comparable<? super T>> void heapSort(
+            ArrayList<T> a, int left, int right, Counters c)
+    {
+        if (a == null || left >= right)
         {
-            swapped = false;
+            return;
+        }
 
-            for (int i = 0; i < size - 1 - pass; i++)
-            {
-                comparisons++;
+        T[] arr = toArray(a, left, right);
+        ArraySorts.heapSort(arr, 0, arr.length, c);
+        copyBack(arr, a, left);
+    }
 
-                if (a.get(i).compareTo(a.get(i + 1)) > 0)
-                {
-                    swap(a, i, i + 1);
-                    swapped = true;
-                }
-            }
-        }
+    // ------------------------------------------------------------
+    // Bubble Sort
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> int bubbleSort(ArrayList<T> a, int size)
+    {
+        return bubbleSort(a, size, Counters.NONE);
+    }
 
+    public static <T extends Comparable<? super T>> int bubbleSort(ArrayList<T> a, int size, Counters c)
+    {
+        T[] arr = toArray(a, 0, size - 1);
+        int comparisons = ArraySorts.bubbleSort(arr, 0, arr.length, c);
+        copyBack(arr, a, 0);
         return comparisons;
     }
 
@@ -240,43 +302,36 @@ public class Proj3
 
     public static <T extends Comparable<? super T>> int transpositionSort(ArrayList<T> a, int size)
     {
-        int comparisons = 0;
-        boolean sorted = false;
-
-        while (!sorted)
-        {
-            sorted = true;
+        return transpositionSort(a, size, Counters.NONE);
+    }
 
-            if (size > 2)
-            {
-                comparisons++;
-            }
+    public static <T extends Comparable<? super T>> int transpositionSort(ArrayList<T> a, int size, Counters c)
+    {
+        T[] arr = toArray(a, 0, size - 1);
+        int comparisons = ArraySorts.transpositionSort(arr, 0, arr.length, c);
+        copyBack(arr, a, 0);
+        return comparisons;
+    }
 
-            for (int i = 1; i < size - 1; i += 2)
-            {
-                if (a.get(i).compareTo(a.get(i + 1)) > 0)
-                {
-                    swap(a, i, i + 1);
-                    sorted = false;
-                }
-            }
+    // ------------------------------------------------------------
+    // ArrayList <-> array adapters (kernels live in ArraySorts)
+    // ------------------------------------------------------------
 
-            if (size > 1)
-            {
-                comparisons++;
-            }
+    // Copies a[left..right] into a fresh Comparable[] viewed as T[]; every
+    // element is a T, so reading through the cast is safe
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> T[] toArray(ArrayList<T> a, int left, int right)
+    {
+        return (T[]) a.subList(left, right + 1).toArray(new Comparable[0]);
+    }
 
-            for (int i = 0; i < size - 1; i += 2)
-            {
-                if (a.get(i).compareTo(a.get(i + 1)) > 0)
-                {
-                    swap(a, i, i + 1);
-                    sorted = false;
-                }
-            }
+    // Writes arr back into a starting at index left
+    static <T> void copyBack(T[] arr, ArrayList<T> a, int left)
+    {
+        for (int i = 0; i < arr.length; i++)
+        {
+            a.set(left + i, arr[i]);
         }
-
-        return comparisons;
     }
 
     // ------------------------------------------------------------
@@ -285,134 +340,1101 @@ public class Proj3
 
     public static void main(String[] args) throws IOException
     {
-        if (args.length != 3)
+        if (args.length < 3)
         {
-            System.out.println("Usage: java Proj3 <file> <algorithm> <lines>");
+            System.out.println("Usage: java Proj3 <file> <algorithm> <lines> [--option value ...]");
             return;
         }
 
         String file = args[0];
         String algo = args[1].toLowerCase();
         int n = Integer.parseInt(args[2]);
+        Map<String, String> options = parseOptions(args, 3);
 
-        ArrayList<String> data = readLines(file, n);
+        if (options.containsKey("threads"))
+        {
+            threads = Integer.parseInt(options.get("threads"));
+        }
 
-        ArrayList<String> sorted = new ArrayList<>(data);
-        Collections.sort(sorted);
+        if (options.containsKey("k"))
+        {
+            topK = Integer.parseInt(options.get("k"));
+        }
 
-        ArrayList<String> shuffled = new ArrayList<>(sorted);
-        Collections.shuffle(shuffled);
+        if (options.containsKey("warmup"))
+        {
+            warmup = Integer.parseInt(options.get("warmup"));
+        }
 
-        ArrayList<String> reversed = new ArrayList<>(sorted);
-        Collections.sort(reversed, Collections.reverseOrder());
+        if (options.containsKey("iterations"))
+        {
+            iterations = Math.max(1, Integer.parseInt(options.get("iterations")));
+        }
 
-        Result r1 = run(algo, "sorted", sorted);
-        Result r2 = run(algo, "shuffled", shuffled);
-        Result r3 = run(algo, "reversed", reversed);
+        if (options.containsKey("output"))
+        {
+            asyncOutput = options.get("output").equalsIgnoreCase("async");
+        }
 
-        print(r1);
-        print(r2);
-        print(r3);
+        if (options.containsKey("counters"))
+        {
+            recordCounters = options.get("counters").equalsIgnoreCase("on");
+        }
 
-        appendCSV("analysis.txt", algo, n, r1);
-        appendCSV("analysis.txt", algo, n, r2);
-        appendCSV("analysis.txt", algo, n, r3);
+        try
+        {
+            if (algo.equals("topk-stream"))
+            {
+                runTopKStream(file, n, options);
+                return;
+            }
 
-        writeList("sorted.txt", reversed);
-    }
+            if (algo.equals("external"))
+            {
+                runExternal(file, n, options);
+                return;
+            }
 
-    private static ArrayList<String> readLines(String file, int n) throws IOException
-    {
-        ArrayList<String> list = new ArrayList<>();
+            if (algo.equals("pipeline"))
+            {
+                runPipeline(file, n, options);
+                return;
+            }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file)))
-        {
-            while (list.size() < n)
+            if (algo.equals("batch"))
             {
-                String line = br.readLine();
-                if (line == null) break;
-                list.add(line);
+                runBatch(file, n, options);
+                return;
             }
-        }
 
-        return list;
-    }
+            // a sweep loads its largest N once and runs everything in this JVM
+            List<Integer> sweep = null;
+            if (options.containsKey("sweep"))
+            {
+                sweep = ScalingSweep.sizes(options.get("sweep"));
+                n = sweep.get(sweep.size() - 1);
+                algo = options.getOrDefault("algos", algo).toLowerCase();
+                warmup = Integer.parseInt(options.getOrDefault("warmup", "1"));
+            }
 
-    private static void writeList(String file, List<String> list) throws IOException
-    {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(file, false)))
-        {
-            for (String s : list)
+            // a gate reruns the benchmark matrix with enough iterations for
+            // confidence intervals and checks it against a stored baseline
+            // (--gate file), or records a new baseline (--record file)
+            RegressionGate gate = null;
+            if (options.containsKey("gate") || options.containsKey("record"))
+            {
+                recordBaseline = options.containsKey("record");
+                gate = new RegressionGate(Paths.get(options.get(recordBaseline ? "record" : "gate")),
+                        Double.parseDouble(options.getOrDefault("threshold", "0.10")), recordBaseline);
+                algo = options.getOrDefault("algos", algo).toLowerCase();
+                warmup = Integer.parseInt(options.getOrDefault("warmup", "2"));
+                iterations = Math.max(2, Integer.parseInt(options.getOrDefault("iterations", "10")));
+            }
+
+            boolean movies = options.getOrDefault("type", "line").equalsIgnoreCase("movie");
+            // reader takes the first n physical lines, like the original
+            // readLines; mmap and cache take the first n CSV records, where
+            // a quoted newline does not end the record
+            String loader = options.getOrDefault("loader", "reader").toLowerCase();
+            if (!List.of("reader", "mmap", "cache").contains(loader))
+            {
+                throw new IllegalArgumentException("Unknown loader " + loader + "; use reader, mmap or cache");
+            }
+            boolean mapped = loader.equals("mmap");
+            boolean cached = loader.equals("cache");
+
+            if (options.containsKey("sort"))
+            {
+                process(algo, n, sweep, gate, loadRecords(file, n, options.get("sort")));
+            }
+            else if (movies)
+            {
+                process(algo, n, sweep, gate, loadMovies(file, n, mapped, cached));
+            }
+            else if (cached)
+            {
+                throw new IllegalArgumentException("The cache loader needs --type movie");
+            }
+            else
             {
-                pw.println(s);
+                process(algo, n, sweep, gate, loadLines(file, n, mapped));
             }
         }
+        finally
+        {
+            closeOutputs();
+        }
+
+        if (gateFailed)
+        {
+            System.exit(1);
+        }
     }
 
-    private static Result run(String algo, String name, ArrayList<String> list)
+    // Reads the first n lines with the chosen loader and reports its throughput
+    private static ArrayList<String> loadLines(String file, int n, boolean mapped) throws IOException
     {
-        Result r = new Result(name);
+        long t = System.nanoTime();
+        ArrayList<String> lines;
+        long bytes;
 
-        if (algo.equals("merge"))
-        {
-            long t = System.nanoTime();
-            mergeSort(list, 0, list.size() - 1);
-            r.seconds = (System.nanoTime() - t) / 1e9;
-        }
-        else if (algo.equals("quick"))
+        if (mapped)
         {
-            long t = System.nanoTime();
-            quickSort(list, 0, list.size() - 1);
-            r.seconds = (System.nanoTime() - t) / 1e9;
+            CsvLoader loader = new CsvLoader(threads);
+            lines = loader.loadLines(Paths.get(file), n);
+            bytes = loader.lastStats().bytes;
         }
-        else if (algo.equals("heap"))
+        else
         {
-            long t = System.nanoTime();
-            heapSort(list, 0, list.size() - 1);
-            r.seconds = (System.nanoTime() - t) / 1e9;
+            lines = readLines(file, n);
+            bytes = charCount(lines);
         }
-        else if (algo.equals("bubble"))
+
+        reportLoad(mapped ? "mmap" : "reader", n, bytes, (System.nanoTime() - t) / 1e9);
+        return lines;
+    }
+
+    // Loads the first n records keyed by a --sort spec such as
+    // "popularity:desc,title:asc"; sorted.txt then holds the full rows
+    private static ArrayList<SortSpec.Record> loadRecords(String file, int n, String spec) throws IOException
+    {
+        long t = System.nanoTime();
+        Path path = Paths.get(file);
+        SortSpec compiled = SortSpec.compile(spec, SortSpec.readHeader(path));
+        CsvLoader loader = new CsvLoader(threads);
+        ArrayList<SortSpec.Record> records = compiled.load(path, n, loader);
+
+        reportLoad("spec", n, loader.lastStats().bytes, (System.nanoTime() - t) / 1e9);
+        return records;
+    }
+
+    // Parses the first n records into movies with the chosen loader and reports its throughput
+    private static ArrayList<HorrorMovie> loadMovies(String file, int n, boolean mapped, boolean cached)
+            throws IOException
+    {
+        long t = System.nanoTime();
+        ArrayList<HorrorMovie> movies;
+        long bytes;
+
+        if (cached)
         {
-            long t = System.nanoTime();
-            r.comparisons = bubbleSort(list, list.size());
-            r.seconds = (System.nanoTime() - t) / 1e9;
+            DatasetCache cache = new DatasetCache(Paths.get(file), threads);
+            movies = cache.loadMovies(n);
+            reportLoad(cache.rebuilt() ? "cache-build" : "cache", n, Files.size(cache.file()),
+                    (System.nanoTime() - t) / 1e9);
+            return movies;
         }
-        else if (algo.equals("transposition"))
+
+        if (mapped)
         {
-            r.comparisons = transpositionSort(list, list.size());
+            CsvLoader loader = new CsvLoader(threads);
+            movies = loader.loadMovies(Paths.get(file), n);
+            bytes = loader.lastStats().bytes;
         }
         else
         {
-            throw new IllegalArgumentException("Unknown algorithm");
+            ArrayList<String> lines = readLines(file, n);
+            movies = parseMovies(lines);
+            bytes = charCount(lines);
         }
 
-        return r;
+        reportLoad(mapped ? "mmap" : "reader", n, bytes, (System.nanoTime() - t) / 1e9);
+        return movies;
     }
 
-    private static void print(Result r)
+    // Runs each comma-separated algorithm on sorted, shuffled and reversed
+    // copies of data, reports the results and writes the last sorted list
+    private static <T extends Comparable<? super T>> void benchmark(String algo, int n, ArrayList<T> data)
+            throws IOException
     {
-        System.out.println(r.caseName + " -> time: " + r.seconds + " sec, comps: " + r.comparisons);
+        ArrayList<T> sorted = new ArrayList<>(data);
+        Collections.sort(sorted);
+
+        ArrayList<T> shuffled = new ArrayList<>(sorted);
+        Collections.shuffle(shuffled);
+
+        ArrayList<T> reversed = new ArrayList<>(sorted);
+        Collections.sort(reversed, Collections.reverseOrder());
+
+        ArrayList<T> output = reversed;
+
+        for (String name : algo.split(","))
+        {
+            if (name.equals("parallelmerge"))
+            {
+                reportSpeedup(n, sorted, shuffled, reversed);
+            }
+
+            output = new ArrayList<>(reversed);
+
+            Result r1 = measure(name, "sorted", new ArrayList<>(sorted));
+            Result r2 = measure(name, "shuffled", new ArrayList<>(shuffled));
+            Result r3 = measure(name, "reversed", output);
+
+            if (algo.contains(","))
+            {
+                System.out.println(name + ":");
+            }
+
+            print(r1);
+            print(r2);
+            print(r3);
+
+            appendCSV("analysis.txt", name, n, r1);
+            appendCSV("analysis.txt", name, n, r2);
+            appendCSV("analysis.txt", name, n, r3);
+        }
+
+        writeList("sorted.txt", output);
     }
 
-    private static void appendCSV(String file, String algo, int n, Result r) throws IOException
+    // Streams the first n lines through the bounded heap, holding only K
+    // elements at a time, and writes the top K to sorted.txt
+    private static void runTopKStream(String file, int n, Map<String, String> options) throws IOException
     {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(file, true)))
+        boolean movies = options.getOrDefault("type", "line").equalsIgnoreCase("movie");
+        Result r = new Result("stream");
+        ArrayList<?> top;
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file)))
         {
-            String sec = (r.seconds < 0) ? "" : Double.toString(r.seconds);
-            String comp = (r.comparisons < 0) ? "" : Integer.toString(r.comparisons);
-            pw.println(algo + "," + n + "," + r.caseName + "," + sec + "," + comp);
+            long t = System.nanoTime();
+            if (movies)
+            {
+                top = TopK.heapTopK(br.lines().limit(n).map(HorrorMovie::fromCsv)
+                        .filter(m -> m != null).iterator(), topK);
+            }
+            else
+            {
+                top = TopK.heapTopK(br.lines().limit(n).iterator(), topK);
+            }
+            r.seconds = (System.nanoTime() - t) / 1e9;
         }
+
+        print(r);
+        appendCSV("analysis.txt", "topk-stream", n, r);
+        writeList("sorted.txt", top);
     }
 
-    private static class Result
+    // Sorts the file out of core into sorted.txt and reports both phases
+    private static void runExternal(String file, int n, Map<String, String> options) throws IOException
     {
-        String caseName;
-        double seconds = -1;
-        int comparisons = -1;
+        ExternalSort sorter = new ExternalSort(
+                options.getOrDefault("chunk", "merge").toLowerCase(),
+                parseBytes(options.getOrDefault("memory", Long.toString(ExternalSort.DEFAULT_MEMORY_BYTES))),
+                Integer.parseInt(options.getOrDefault("fanin", Integer.toString(ExternalSort.DEFAULT_FAN_IN))));
 
-        Result(String name)
+        ExternalSort.Stats stats = sorter.sort(file, n, "sorted.txt");
+
+        Result runs = new Result("run-generation");
+        runs.seconds = stats.runSeconds;
+
+        Result merge = new Result("merge");
+        merge.seconds = stats.mergeSeconds;
+
+        System.out.println("external -> lines: " + stats.lines + ", runs: " + stats.runs
+                + ", merge passes: " + stats.passes);
+        print(runs);
+        print(merge);
+
+        appendCSV("analysis.txt", "external", n, runs);
+        appendCSV("analysis.txt", "external", n, merge);
+    }
+
+    // Streams the file through the reader/parser/run-sorter pipeline into
+    // sorted.txt and reports busy time, stalls and queue depth per stage
+    private static void runPipeline(String file, int n, Map<String, String> options) throws IOException
+    {
+        boolean movies = options.getOrDefault("type", "line").equalsIgnoreCase("movie");
+        String chunk = options.getOrDefault("chunk", "merge").toLowerCase();
+        int batch = Integer.parseInt(options.getOrDefault("batch", Integer.toString(SortPipeline.DEFAULT_BATCH)));
+        int runSize = Integer.parseInt(options.getOrDefault("run", Integer.toString(SortPipeline.DEFAULT_RUN_SIZE)));
+        int queue = Integer.parseInt(options.getOrDefault("queue", Integer.toString(SortPipeline.DEFAULT_QUEUE_CAPACITY)));
+
+        long t = System.nanoTime();
+        List<SortPipeline.Stage> stages;
+
+        if (movies)
+        {
+            SortPipeline<HorrorMovie> pipeline = new SortPipeline<>(HorrorMovie::fromCsv, chunk, batch, runSize, queue);
+            pipeline.sort(file, n, "sorted.txt");
+            stages = pipeline.stages();
+        }
+        else
+        {
+            SortPipeline<String> pipeline = new SortPipeline<>(line -> line, chunk, batch, runSize, queue);
+            pipeline.sort(file, n, "sorted.txt");
+            stages = pipeline.stages();
+        }
+
+        Result total = new Result("total");
+        total.seconds = (System.nanoTime() - t) / 1e9;
+
+        System.out.println("pipeline -> lines: " + stages.get(0).items + ", records: " + stages.get(1).items);
+        print(total);
+        appendCSV("analysis.txt", "pipeline", n, total);
+
+        for (SortPipeline.Stage s : stages)
+        {
+            Result r = new Result(s.name);
+            r.seconds = s.busyNanos / 1e9;
+            r.phases.put("input-stall", s.inputStallNanos / 1e9);
+            r.phases.put("output-stall", s.outputStallNanos / 1e9);
+
+            // queue depth belongs to the stage's output queue
+            if (s.batches > 0)
+            {
+                r.rate = s.averageDepth();
+                r.rateUnit = "avg queue depth (max " + s.maxDepth + ")";
+            }
+
+            print(r);
+            appendCSV("analysis.txt", "pipeline", n, r);
+        }
+    }
+
+    // Sorts the first n lines of every file in a directory or glob into
+    // --out (default "sorted/") in one JVM, one job per file, and reports
+    // each file plus the overall files/s and rows/s
+    private static void runBatch(String inputs, int n, Map<String, String> options) throws IOException
+    {
+        boolean movies = options.getOrDefault("type", "line").equalsIgnoreCase("movie");
+        String chunk = options.getOrDefault("chunk", "merge").toLowerCase();
+        Path out = Paths.get(options.getOrDefault("out", "sorted"));
+        List<Path> files = BatchSort.inputs(inputs);
+
+        long t = System.nanoTime();
+        List<BatchSort.FileResult> results;
+        boolean virtual;
+
+        if (movies)
+        {
+            BatchSort<HorrorMovie> batch = new BatchSort<>(HorrorMovie::fromCsv, chunk, threads, out);
+            results = batch.sort(files, n);
+            virtual = batch.usedVirtualThreads();
+        }
+        else
+        {
+            BatchSort<String> batch = new BatchSort<>(line -> line, chunk, threads, out);
+            results = batch.sort(files, n);
+            virtual = batch.usedVirtualThreads();
+        }
+
+        double seconds = (System.nanoTime() - t) / 1e9;
+        long rows = 0;
+
+        for (BatchSort.FileResult f : results)
+        {
+            Result r = new Result(f.file.getFileName().toString());
+            r.seconds = f.totalNanos / 1e9;
+            r.rate = f.rows / r.seconds;
+            r.rateUnit = "rows/s";
+            r.phases.put("read", f.readNanos / 1e9);
+            r.phases.put("wait", f.waitNanos / 1e9);
+            r.phases.put("sort", f.sortNanos / 1e9);
+            r.phases.put("write", f.writeNanos / 1e9);
+
+            print(r);
+            appendCSV("analysis.txt", "batch", f.rows, r);
+            rows += f.rows;
+        }
+
+        Result fileRate = new Result("files");
+        fileRate.seconds = seconds;
+        fileRate.rate = results.size() / seconds;
+        fileRate.rateUnit = "files/s";
+
+        Result rowRate = new Result("rows");
+        rowRate.seconds = seconds;
+        rowRate.rate = rows / seconds;
+        rowRate.rateUnit = "rows/s";
+
+        System.out.println("batch -> files: " + results.size() + ", rows: " + rows + ", jobs on "
+                + (virtual ? "virtual" : "platform") + " threads, sort pool: " + threads + " threads");
+        print(fileRate);
+        print(rowRate);
+        appendCSV("analysis.txt", "batch", n, fileRate);
+        appendCSV("analysis.txt", "batch", n, rowRate);
+    }
+
+    // Collects trailing "--name value" pairs
+    private static Map<String, String> parseOptions(String[] args, int start)
+    {
+        Map<String, String> options = new HashMap<>();
+
+        for (int i = start; i < args.length; i++)
+        {
+            if (!args[i].startsWith("--") || i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+
+            options.put(args[i].substring(2).toLowerCase(), args[++i]);
+        }
+
+        return options;
+    }
+
+    // Parses a byte count with an optional k/m/g suffix, e.g. "256m"
+    private static long parseBytes(String text)
+    {
+        String t = text.trim().toLowerCase();
+        long unit = 1;
+
+        if (t.endsWith("k")) unit = 1L << 10;
+        else if (t.endsWith("m")) unit = 1L << 20;
+        else if (t.endsWith("g")) unit = 1L << 30;
+
+        if (unit != 1)
+        {
+            t = t.substring(0, t.length() - 1);
+        }
+
+        return Long.parseLong(t) * unit;
+    }
+
+    // First n physical lines of file in the platform charset; shared with BatchSort
+    static ArrayList<String> readLines(String file, int n) throws IOException
+    {
+        ArrayList<String> list = new ArrayList<>();
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file)))
+        {
+            while (list.size() < n)
+            {
+                String line = br.readLine();
+                if (line == null) break;
+                list.add(line);
+            }
+        }
+
+        return list;
+    }
+
+    // Characters read including line terminators; equals bytes for ASCII input
+    private static long charCount(List<String> lines)
+    {
+        long count = 0;
+        for (String line : lines)
+        {
+            count += line.length() + 1;
+        }
+        return count;
+    }
+
+    private static void reportLoad(String loader, int n, long bytes, double seconds) throws IOException
+    {
+        Result r = new Result("load");
+        r.seconds = seconds;
+        r.rate = (bytes / 1e6) / seconds;
+        r.rateUnit = "MB/s";
+
+        print(r);
+        appendCSV("analysis.txt", loader, n, r);
+    }
+
+    // Parses lines into movies; the header and malformed rows are skipped
+    private static ArrayList<HorrorMovie> parseMovies(List<String> lines)
+    {
+        ArrayList<HorrorMovie> movies = new ArrayList<>();
+
+        for (String line : lines)
+        {
+            HorrorMovie m = HorrorMovie.fromCsv(line);
+            if (m != null)
+            {
+                movies.add(m);
+            }
+        }
+
+        return movies;
+    }
+
+    private static void writeList(String file, List<?> list) throws IOException
+    {
+        LineWriter out = new LineWriter(Paths.get(file), Charset.defaultCharset(), false, asyncOutput);
+        try (out)
+        {
+            out.writeAll(list);
+        }
+
+        Result r = new Result("write");
+        r.seconds = out.seconds();
+        r.rate = out.linesPerSecond();
+        r.rateUnit = "lines/s";
+
+        print(r);
+        appendCSV("analysis.txt", asyncOutput ? "writer-async" : "writer", list.size(), r);
+    }
+
+    // Rejects an algorithm a chunked mode cannot use before it sorts or
+    // writes anything: unknown names fail a dry run on an empty chunk, and
+    // the topk-* sorters would keep only K elements of every chunk
+    static void checkChunkAlgorithm(String algo)
+    {
+        if (algo.startsWith("topk-"))
+        {
+            throw new IllegalArgumentException("Chunks need a full sort, not the partial " + algo);
+        }
+
+        run(algo, "check", new ArrayList<String>());
+    }
+
+    static <T extends Comparable<? super T>> Result run(String algo, String name, ArrayList<T> list)
+    {
+        return run(algo, name, list, Counters.NONE);
+    }
+
+    // Sorts list with the named algorithm, reporting its work to c
+    static <T extends Comparable<? super T>> Result run(String algo, String name, ArrayList<T> list, Counters c)
+    {
+        Result r = new Result(name);
+        RunProfile profile = RunProfile.start();
+
+        if (algo.equals("merge"))
+        {
+            long t = System.nanoTime();
+            mergeSort(list, 0, list.size() - 1, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("parallelmerge"))
+        {
+            long t = System.nanoTime();
+            ParallelMergeSort.sort(list, threads, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("quick"))
+        {
+            long t = System.nanoTime();
+            quickSort(list, 0, list.size() - 1, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("intro"))
+        {
+            long t = System.nanoTime();
+            introSort(list, 0, list.size() - 1, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("introdual"))
+        {
+            long t = System.nanoTime();
+            dualPivotSort(list, 0, list.size() - 1, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("msd"))
+        {
+            if (!list.isEmpty() && !(list.get(0) instanceof String))
+            {
+                throw new IllegalArgumentException("msd only sorts strings");
+            }
+
+            @SuppressWarnings("unchecked")
+            ArrayList<String> lines = (ArrayList<String>) list;
+
+            long t = System.nanoTime();
+            msdSort(lines, 0, lines.size() - 1, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("adaptive"))
+        {
+            long t = System.nanoTime();
+            r.runs = adaptiveSort(list, 0, list.size() - 1, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("auto"))
+        {
+            // the selector's sampling cost is part of the timed run and
+            // also reported on its own as the "select" phase
+            long t = System.nanoTime();
+            AutoSort.Choice choice = AutoSort.choose(list, threads);
+            long selected = System.nanoTime();
+
+            Result chosen = run(choice.algorithm, name, list, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+            r.comparisons = chosen.comparisons;
+            r.runs = chosen.runs;
+            r.choice = choice.toString();
+            r.phases.put("select", (selected - t) / 1e9);
+            r.phases.putAll(chosen.phases);
+        }
+        else if (algo.startsWith("keyed-"))
+        {
+            if (!list.isEmpty() && !(list.get(0) instanceof HorrorMovie))
+            {
+                throw new IllegalArgumentException("keyed sorts only apply to --type movie");
+            }
+
+            @SuppressWarnings("unchecked")
+            ArrayList<HorrorMovie> movies = (ArrayList<HorrorMovie>) list;
+
+            long t = System.nanoTime();
+            Result inner = MovieSortKey.sort(algo.substring("keyed-".length()), name, movies, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+            r.comparisons = inner.comparisons;
+            r.runs = inner.runs;
+        }
+        else if (algo.startsWith("arena-"))
+        {
+            if (!list.isEmpty() && !(list.get(0) instanceof HorrorMovie))
+            {
+                throw new IllegalArgumentException("arena sorts only apply to --type movie");
+            }
+
+            @SuppressWarnings("unchecked")
+            ArrayList<HorrorMovie> movies = (ArrayList<HorrorMovie>) list;
+
+            long t = System.nanoTime();
+            MovieArena arena = MovieArena.of(movies);
+            long built = System.nanoTime();
+            arena.sort(algo.substring("arena-".length()), c);
+            long sorted = System.nanoTime();
+
+            for (int i = 0; i < movies.size(); i++)
+            {
+                movies.set(i, arena.get(i));
+            }
+
+            r.seconds = (sorted - built) / 1e9;
+            r.phases.put("build", (built - t) / 1e9);
+            r.phases.put("materialize", (System.nanoTime() - sorted) / 1e9);
+
+            // footprint of the arena against the same records as objects
+            if (!movies.isEmpty())
+            {
+                r.rate = (double) arena.bytes() / movies.size();
+                r.rateUnit = "bytes/record";
+                r.objectBytes = (double) MovieArena.objectBytes(movies) / movies.size();
+            }
+        }
+        else if (algo.equals("sample") || algo.equals("sample-heap"))
+        {
+            long t = System.nanoTime();
+            r.phases = sampleSort(list, threads, algo.equals("sample-heap"), c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("topk-heap"))
+        {
+            long t = System.nanoTime();
+            ArrayList<T> top = TopK.heapTopK(list.iterator(), topK, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+
+            list.clear();
+            list.addAll(top);
+        }
+        else if (algo.equals("topk-select"))
+        {
+            long t = System.nanoTime();
+            TopK.selectTopK(list, topK, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("heap"))
+        {
+            long t = System.nanoTime();
+            heapSort(list, 0, list.size() - 1, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("bubble"))
+        {
+            long t = System.nanoTime();
+            r.comparisons = bubbleSort(list, list.size(), c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("transposition"))
+        {
+            long t = System.nanoTime();
+            r.comparisons = transpositionSort(list, list.size(), c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("ptransposition"))
+        {
+            long t = System.nanoTime();
+            r.comparisons = ParallelTranspositionSort.phaseSort(list, list.size(), threads, c);
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else if (algo.equals("blocktransposition"))
+        {
+            long t = System.nanoTime();
+            // critical-path comparisons, not the phase count in the comps column
+            r.rate = ParallelTranspositionSort.blockSort(list, list.size(), threads, c);
+            r.rateUnit = "critical-path comparisons";
+            r.seconds = (System.nanoTime() - t) / 1e9;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown algorithm");
+        }
+
+        profile.stop(r);
+        return r;
+    }
+
+    // Runs warmup untimed and then iterations timed sorts, each on a fresh
+    // copy of list; the last timed run sorts list itself. With more than
+    // one iteration the Result keeps every sample and seconds is the median.
+    // With --counters on, one more untimed run on a copy records the
+    // operation counters, so the timed runs keep the no-op Counters.NONE.
+    static <T extends Comparable<? super T>> Result measure(String algo, String name, ArrayList<T> list)
+    {
+        ArrayList<T> input = (warmup + iterations > 1 || recordCounters) ? new ArrayList<>(list) : list;
+
+        for (int i = 0; i < warmup; i++)
+        {
+            run(algo, name, new ArrayList<>(input));
+        }
+
+        double[] samples = new double[iterations];
+        Result r = null;
+
+        for (int i = 0; i < iterations; i++)
+        {
+            r = run(algo, name, (i == iterations - 1) ? list : new ArrayList<>(input));
+            samples[i] = r.seconds;
+        }
+
+        if (r.seconds >= 0)
+        {
+            r.samples = samples;
+            r.seconds = r.median();
+        }
+
+        if (recordCounters)
+        {
+            r.counters = new Counters.Recording();
+            run(algo, name, input, r.counters);
+        }
+
+        return r;
+    }
+
+    private static <T extends Comparable<? super T>> void process(
+            String algo, int n, List<Integer> sweep, RegressionGate gate, ArrayList<T> data) throws IOException
+    {
+        if (gate != null)
+        {
+            runGate(algo, n, gate, data);
+        }
+        else if (sweep == null)
+        {
+            benchmark(algo, n, data);
+        }
+        else
+        {
+            runSweep(algo, sweep, data);
+        }
+    }
+
+    // Times every algorithm on the sorted, shuffled and reversed cases,
+    // then either records the results as the new baseline or checks them
+    // against it. The shuffle is seeded by N so both runs see the same input.
+    private static <T extends Comparable<? super T>> void runGate(
+            String algo, int n, RegressionGate gate, ArrayList<T> data) throws IOException
+    {
+        ArrayList<T> sorted = new ArrayList<>(data);
+        Collections.sort(sorted);
+
+        ArrayList<T> shuffled = new ArrayList<>(sorted);
+        Collections.shuffle(shuffled, new Random(n));
+
+        ArrayList<T> reversed = new ArrayList<>(sorted);
+        Collections.sort(reversed, Collections.reverseOrder());
+
+        for (String name : algo.split(","))
+        {
+            for (Result r : List.of(measure(name, "sorted", new ArrayList<>(sorted)),
+                                    measure(name, "shuffled", new ArrayList<>(shuffled)),
+                                    measure(name, "reversed", new ArrayList<>(reversed))))
+            {
+                System.out.print(name + " ");
+                print(r);
+                appendCSV("analysis.txt", name, n, r);
+                gate.record(name, r.caseName, n, r);
+            }
+        }
+
+        if (recordBaseline)
+        {
+            gate.save();
+        }
+        else
+        {
+            gateFailed = !gate.check();
+        }
+    }
+
+    // Times every algorithm on the sorted, shuffled and reversed first N
+    // elements for each N of the sweep, then fits the growth exponents and
+    // writes the per-case CSVs; every run is also appended to analysis.txt
+    private static <T extends Comparable<? super T>> void runSweep(
+            String algo, List<Integer> sizes, ArrayList<T> data) throws IOException
+    {
+        ScalingSweep sweep = new ScalingSweep();
+
+        for (int size : sizes)
+        {
+            if (size > data.size())
+            {
+                System.out.println("Skipping N = " + size + ": only " + data.size() + " elements loaded");
+                continue;
+            }
+
+            ArrayList<T> sorted = new ArrayList<>(data.subList(0, size));
+            Collections.sort(sorted);
+
+            ArrayList<T> shuffled = new ArrayList<>(sorted);
+            Collections.shuffle(shuffled);
+
+            ArrayList<T> reversed = new ArrayList<>(sorted);
+            Collections.sort(reversed, Collections.reverseOrder());
+
+            System.out.println("N = " + size + ":");
+
+            for (String name : algo.split(","))
+            {
+                for (Result r : List.of(measure(name, "sorted", new ArrayList<>(sorted)),
+                                        measure(name, "shuffled", new ArrayList<>(shuffled)),
+                                        measure(name, "reversed", new ArrayList<>(reversed))))
+                {
+                    System.out.print("  " + name + " ");
+                    print(r);
+                    appendCSV("analysis.txt", name, size, r);
+                    sweep.record(name, r.caseName, size, r.seconds);
+                }
+            }
+        }
+
+        sweep.report();
+    }
+
+    // Times the parallel merge sort at 1, 2, 4 and N worker threads on fresh
+    // copies of each case and reports its speedup over the sequential mergeSort
+    private static <T extends Comparable<? super T>> void reportSpeedup(
+            int n, ArrayList<T> sorted, ArrayList<T> shuffled, ArrayList<T> reversed) throws IOException
+    {
+        TreeSet<Integer> cores = new TreeSet<>(List.of(1, 2, 4, threads));
+
+        for (Result base : List.of(run("merge", "sorted", new ArrayList<>(sorted)),
+                                   run("merge", "shuffled", new ArrayList<>(shuffled)),
+                                   run("merge", "reversed", new ArrayList<>(reversed))))
+        {
+            ArrayList<T> input = base.caseName.equals("sorted") ? sorted
+                    : base.caseName.equals("shuffled") ? shuffled : reversed;
+
+            for (int p : cores)
+            {
+                ArrayList<T> copy = new ArrayList<>(input);
+                Result r = new Result(base.caseName);
+
+                long t = System.nanoTime();
+                ParallelMergeSort.sort(copy, p);
+                r.seconds = (System.nanoTime() - t) / 1e9;
+
+                System.out.printf("%s -> cores: %d, time: %s sec, speedup: %.2fx%n",
+                        r.caseName, p, r.seconds, base.seconds / r.seconds);
+                appendCSV("analysis.txt", "parallelmerge-p" + p, n, r);
+            }
+        }
+    }
+
+    private static void print(Result r)
+    {
+        String runs = (r.runs < 0) ? "" : ", runs: " + r.runs;
+        String rate = (r.rate < 0) ? "" : String.format(", %.2f %s", r.rate, r.rateUnit);
+        String alloc = (r.allocatedBytes < 0) ? "" : String.format(", alloc: %.2f MB", r.allocatedBytes / 1e6);
+        String gc = (r.gcCount < 0) ? "" : ", gc: " + r.gcCount + " (" + r.gcMillis + " ms)";
+        System.out.println(r.caseName + " -> time: " + r.seconds + " sec, comps: " + r.comparisons + runs + rate
+                + alloc + gc);
+
+        if (r.choice != null)
+        {
+            System.out.println("    auto: " + r.choice.replace(";", ", "));
+        }
+
+        if (r.objectBytes >= 0)
+        {
+            System.out.printf("    as objects: %.2f bytes/record%n", r.objectBytes);
+        }
+
+        if (r.counters != null)
+        {
+            System.out.println("    counters: compares " + r.counters.compares() + ", swaps " + r.counters.swaps()
+                    + ", moves " + r.counters.moves() + ", max depth " + r.counters.maxDepth()
+                    + ", buffer " + r.counters.bufferBytes() + " bytes");
+        }
+
+        if (r.samples.length > 1)
+        {
+            System.out.printf("    %d runs: min %s, median %s, mean %s, p90 %s, p99 %s, stddev %s sec%n",
+                    r.samples.length, r.min(), r.median(), r.mean(),
+                    r.percentile(0.90), r.percentile(0.99), r.stddev());
+        }
+
+        for (Map.Entry<String, Double> phase : r.phases.entrySet())
+        {
+            System.out.println("    " + phase.getKey() + ": " + phase.getValue() + " sec");
+        }
+    }
+
+    private static void appendCSV(String file, String algo, int n, Result r) throws IOException
+    {
+        LineWriter out = appendHandles.get(file);
+        if (out == null)
+        {
+            out = new LineWriter(Paths.get(file), Charset.defaultCharset(), true, false);
+            appendHandles.put(file, out);
+        }
+
+        String sec = (r.seconds < 0) ? "" : Double.toString(r.seconds);
+        String comp = (r.comparisons < 0) ? "" : Integer.toString(r.comparisons);
+        String runs = (r.runs < 0) ? "" : Integer.toString(r.runs);
+        String rate = (r.rate < 0) ? "" : Double.toString(r.rate);
+        String objects = (r.objectBytes < 0) ? "" : Double.toString(r.objectBytes);
+        out.writeLine(algo + "," + n + "," + r.caseName + "," + sec + "," + comp + "," + runs + "," + rate
+                + statsColumns(r) + profileColumns(r) + "," + ((r.choice == null) ? "" : r.choice)
+                + "," + objects + counterColumns(r));
+
+        // one extra row per phase, case column "<case>/<phase>"
+        for (Map.Entry<String, Double> phase : r.phases.entrySet())
+        {
+            out.writeLine(algo + "," + n + "," + r.caseName + "/" + phase.getKey() + ","
+                    + phase.getValue() + ",,," + statsColumns(null) + profileColumns(null) + ",,"
+                    + counterColumns(null));
+        }
+    }
+
+    // Trailing columns iterations,min,median,mean,p90,p99,stddev; empty
+    // for rows that were not timed through measure
+    private static String statsColumns(Result r)
+    {
+        if (r == null || r.samples.length == 0)
+        {
+            return ",,,,,,,";
+        }
+
+        return "," + r.samples.length + "," + r.min() + "," + r.median() + "," + r.mean() + ","
+                + r.percentile(0.90) + "," + r.percentile(0.99) + "," + r.stddev();
+    }
+
+    // Trailing columns alloc_bytes,gc_count,gc_ms; empty for rows that
+    // did not come from Proj3.run
+    private static String profileColumns(Result r)
+    {
+        if (r == null)
+        {
+            return ",,,";
+        }
+
+        String alloc = (r.allocatedBytes < 0) ? "" : Long.toString(r.allocatedBytes);
+        String count = (r.gcCount < 0) ? "" : Long.toString(r.gcCount);
+        String millis = (r.gcMillis < 0) ? "" : Long.toString(r.gcMillis);
+        return "," + alloc + "," + count + "," + millis;
+    }
+
+    // Trailing columns compares,swaps,moves,max_depth,buffer_bytes; empty
+    // unless the row was measured with --counters on
+    private static String counterColumns(Result r)
+    {
+        if (r == null || r.counters == null)
+        {
+            return ",,,,,";
+        }
+
+        Counters.Recording c = r.counters;
+        return "," + c.compares() + "," + c.swaps() + "," + c.moves() + "," + c.maxDepth() + "," + c.bufferBytes();
+    }
+
+    // Flushes and closes the results files kept open by appendCSV
+    private static void closeOutputs() throws IOException
+    {
+        for (LineWriter out : appendHandles.values())
+        {
+            out.close();
+        }
+        appendHandles.clear();
+    }
+
+    static class Result
+    {
+        String caseName;
+        double seconds = -1;
+        int comparisons = -1;
+        int runs = -1;
+        double rate = -1;
+        String rateUnit = "";
+        Map<String, Double> phases = new LinkedHashMap<>();
+        double[] samples = new double[0];
+
+        // allocation on the sorting thread and JVM-wide GC during the run
+        long allocatedBytes = -1;
+        long gcCount = -1;
+        long gcMillis = -1;
+
+        // "auto" only: the chosen engine and the features behind it
+        String choice;
+
+        // "arena-*" only: bytes per record of the same movies as objects,
+        // next to the arena's own bytes/record in rate
+        double objectBytes = -1;
+
+        // --counters on only: operations of one extra untimed run
+        Counters.Recording counters;
+
+        Result(String name)
         {
             caseName = name;
         }
+
+        double min()
+        {
+            return percentile(0);
+        }
+
+        double median()
+        {
+            double[] s = sortedSamples();
+            int mid = s.length / 2;
+            return (s.length % 2 == 1) ? s[mid] : (s[mid - 1] + s[mid]) / 2;
+        }
+
+        double mean()
+        {
+            double sum = 0;
+            for (double x : samples)
+            {
+                sum += x;
+            }
+            return sum / samples.length;
+        }
+
+        // Nearest-rank percentile, p in [0, 1]
+        double percentile(double p)
+        {
+            double[] s = sortedSamples();
+            int rank = (int) Math.ceil(p * s.length);
+            return s[Math.max(0, rank - 1)];
+        }
+
+        // Sample standard deviation; 0 for a single run
+        double stddev()
+        {
+            if (samples.length < 2)
+            {
+                return 0;
+            }
+
+            double mean = mean();
+            double sum = 0;
+            for (double x : samples)
+            {
+                sum += (x - mean) * (x - mean);
+            }
+            return Math.sqrt(sum / (samples.length - 1));
+        }
+
+        private double[] sortedSamples()
+        {
+            double[] s = samples.clone();
+            ArraySorts.quickSort(s, 0, s.length);
+            return s;
+        }
     }
 }
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * @file: RegressionGate.java
+ * @description: Support for the Proj3 gate mode, which checks the benchmark
+ *               matrix against a stored baseline. Each algorithm and case is
+ *               summarised by the mean of its timed iterations and a 95%
+ *               Student-t confidence interval. A result counts as a
+ *               regression only when its throughput dropped by more than the
+ *               threshold and its interval lies entirely above the
+ *               baseline's, so noise alone cannot fail the gate. The
+ *               baseline is a small CSV that can be checked in and
+ *               re-recorded.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class RegressionGate
+{
+    private static final String HEADER = "algorithm,case,n,iterations,mean,stddev,ci95";
+
+    // Two-sided 95% Student-t critical values for 1..30 degrees of freedom
+    private static final double[] T95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042 };
+
+    private final Path baseline;
+    private final double threshold;
+
+    // "algorithm,case,n" -> summary, in run order
+    private final Map<String, Summary> current = new LinkedHashMap<>();
+
+    // Fails before any timing when there is nothing to check against
+    public RegressionGate(Path baseline, double threshold, boolean recording)
+    {
+        if (threshold < 0 || threshold >= 1)
+        {
+            throw new IllegalArgumentException("Threshold must be a fraction in [0, 1), e.g. 0.10");
+        }
+        if (!recording && !Files.exists(baseline))
+        {
+            throw new IllegalArgumentException("No baseline at " + baseline + "; record one with --record");
+        }
+
+        this.baseline = baseline;
+        this.threshold = threshold;
+    }
+
+    // Mean, sample standard deviation and count of one algorithm and case
+    static final class Summary
+    {
+        final int iterations;
+        final double mean;
+        final double stddev;
+
+        Summary(int iterations, double mean, double stddev)
+        {
+            this.iterations = iterations;
+            this.mean = mean;
+            this.stddev = stddev;
+        }
+
+        // Half-width of the 95% confidence interval for the mean
+        double halfWidth()
+        {
+            if (iterations < 2)
+            {
+                return 0;
+            }
+
+            double t = (iterations - 1 <= T95.length) ? T95[iterations - 2] : 1.96;
+            return t * stddev / Math.sqrt(iterations);
+        }
+
+        double low()
+        {
+            return mean - halfWidth();
+        }
+
+        double high()
+        {
+            return mean + halfWidth();
+        }
+    }
+
+    public void record(String algo, String caseName, int n, Proj3.Result r)
+    {
+        current.put(algo + "," + caseName + "," + n, new Summary(r.samples.length, r.mean(), r.stddev()));
+    }
+
+    // ------------------------------------------------------------
+    // Baseline file
+    // ------------------------------------------------------------
+
+    // Overwrites the baseline with this run's results
+    public void save() throws IOException
+    {
+        try (LineWriter out = new LineWriter(baseline, Charset.defaultCharset(), false, false))
+        {
+            out.writeLine("# java " + System.getProperty("java.version") + ", "
+                    + Runtime.getRuntime().availableProcessors() + " cores");
+            out.writeLine(HEADER);
+
+            for (Map.Entry<String, Summary> e : current.entrySet())
+            {
+                Summary s = e.getValue();
+                out.writeLine(e.getKey() + "," + s.iterations + "," + s.mean + "," + s.stddev + ","
+                        + s.halfWidth());
+            }
+        }
+
+        System.out.println("Baseline recorded: " + baseline + " (" + current.size() + " results)");
+    }
+
+    private Map<String, Summary> load() throws IOException
+    {
+        Map<String, Summary> stored = new LinkedHashMap<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(baseline.toFile())))
+        {
+            String line;
+            while ((line = br.readLine()) != null)
+            {
+                if (line.startsWith("#"))
+                {
+                    System.out.println("Baseline: " + line.substring(1).trim());
+                    continue;
+                }
+                if (line.isBlank() || line.equals(HEADER)) continue;
+
+                String[] f = line.split(",");
+                stored.put(f[0] + "," + f[1] + "," + f[2], new Summary(Integer.parseInt(f[3]),
+                        Double.parseDouble(f[4]), Double.parseDouble(f[5])));
+            }
+        }
+        return stored;
+    }
+
+    // ------------------------------------------------------------
+    // Comparison
+    // ------------------------------------------------------------
+
+    // Prints one line per algorithm and case, writes the same table to
+    // regression.csv and returns false when anything regressed
+    public boolean check() throws IOException
+    {
+        Map<String, Summary> stored = load();
+        int regressions = 0;
+
+        System.out.printf("Gate: throughput drop > %.1f%% with non-overlapping 95%% intervals fails%n",
+                threshold * 100);
+
+        try (LineWriter out = new LineWriter(Paths.get("regression.csv"), Charset.defaultCharset(), false, false))
+        {
+            out.writeLine("algorithm,case,n,baseline_mean,baseline_ci95,mean,ci95,throughput_change,status");
+
+            for (Map.Entry<String, Summary> e : current.entrySet())
+            {
+                Summary now = e.getValue();
+                Summary base = stored.get(e.getKey());
+                String status = status(base, now);
+                double change = (base == null) ? Double.NaN : base.mean / now.mean - 1;
+
+                if (status.equals("REGRESSED"))
+                {
+                    regressions++;
+                }
+
+                String[] key = e.getKey().split(",");
+                System.out.printf("  %-9s %s %-8s n=%s: %s -> %s sec (%s)%n", status, key[0], key[1], key[2],
+                        (base == null) ? "-" : interval(base), interval(now),
+                        (base == null) ? "new" : String.format("%+.1f%% throughput", change * 100));
+
+                out.writeLine(e.getKey() + "," + ((base == null) ? "," : base.mean + "," + base.halfWidth()) + ","
+                        + now.mean + "," + now.halfWidth() + "," + ((base == null) ? "" : change) + "," + status);
+            }
+        }
+
+        System.out.println((regressions == 0) ? "Gate passed" : "Gate failed: " + regressions + " regression(s)");
+        return regressions == 0;
+    }
+
+    // NEW without a baseline entry; REGRESSED or IMPROVED only when the
+    // change passes the threshold and the intervals do not overlap
+    private String status(Summary base, Summary now)
+    {
+        if (base == null)
+        {
+            return "NEW";
+        }
+
+        double drop = 1 - base.mean / now.mean;
+        if (drop > threshold && now.low() > base.high())
+        {
+            return "REGRESSED";
+        }
+        if (-drop > threshold && now.high() < base.low())
+        {
+            return "IMPROVED";
+        }
+        return "OK";
+    }
+
+    private static String interval(Summary s)
+    {
+        return String.format("%.6f +/- %.6f", s.mean, s.halfWidth());
+    }
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * @file: RunProfile.java
+ * @description: Allocation and GC accounting for one sort run. Taken at the
+ *               start of Proj3.run and closed at the end. Records the bytes
+ *               allocated by the calling thread (com.sun.management
+ *               ThreadMXBean) and the change in collection count and
+ *               collection time summed over all GarbageCollectorMXBeans.
+ *               Allocation on worker threads of the parallel sorts is not
+ *               included; GC counts cover the whole JVM.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+final class RunProfile
+{
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private final long allocated;
+    private final long collections;
+    private final long collectionMillis;
+
+    private RunProfile()
+    {
+        allocated = allocatedBytes();
+        long count = 0;
+        long millis = 0;
+
+        for (GarbageCollectorMXBean gc : COLLECTORS)
+        {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+
+        collections = count;
+        collectionMillis = millis;
+    }
+
+    static RunProfile start()
+    {
+        return new RunProfile();
+    }
+
+    // Stores the deltas since start in r; allocation stays -1 when the JVM
+    // cannot measure per-thread allocation
+    void stop(Proj3.Result r)
+    {
+        RunProfile end = new RunProfile();
+
+        if (allocated >= 0 && end.allocated >= 0)
+        {
+            r.allocatedBytes = end.allocated - allocated;
+        }
+
+        r.gcCount = end.collections - collections;
+        r.gcMillis = end.collectionMillis - collectionMillis;
+    }
+
+    private static long allocatedBytes()
+    {
+        return (THREADS == null) ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean()
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported())
+        {
+            if (!sun.isThreadAllocatedMemoryEnabled())
+            {
+                sun.setThreadAllocatedMemoryEnabled(true);
+            }
+            return sun;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * @file: SampleSort.java
+ * @description: Parallel sample sort. An oversampled random sample picks
+ *               p - 1 splitters, worker threads classify their slice of the
+ *               input and scatter it into per-bucket regions, each bucket is
+ *               sorted locally with the array quick or heap sort, and the
+ *               buckets are concatenated back into the input. The time of
+ *               every phase is recorded.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class SampleSort
+{
+    // Sample elements drawn per bucket
+    private static final int OVERSAMPLING = 32;
+
+    // Inputs with fewer elements per thread are sorted on one thread
+    private static final int MIN_ELEMENTS_PER_THREAD = 4096;
+
+    private SampleSort()
+    {
+    }
+
+    public static <T extends Comparable<? super T>> Map<String, Double> sort(T[] a, int threads, boolean useHeap)
+    {
+        return sort(a, threads, useHeap, Counters.NONE);
+    }
+
+    // Sorts a[0, a.length) on the given number of threads, sorting buckets
+    // with heap sort when useHeap is set and quick sort otherwise; returns
+    // the seconds spent in each phase. The workers share c, so it must be
+    // safe for concurrent use.
+    public static <T extends Comparable<? super T>> Map<String, Double> sort(
+            T[] a, int threads, boolean useHeap, Counters c)
+    {
+        Map<String, Double> phases = new LinkedHashMap<>();
+        int n = a.length;
+        int p = Math.max(1, Math.min(threads, n / MIN_ELEMENTS_PER_THREAD));
+
+        if (p == 1)
+        {
+            long t = System.nanoTime();
+            localSort(a, 0, n, useHeap, c);
+            phases.put("local-sort", (System.nanoTime() - t) / 1e9);
+            return phases;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(p);
+        try
+        {
+            long t = System.nanoTime();
+            T[] splitters = chooseSplitters(a, p, c);
+            phases.put("sample", lap(t));
+
+            // classify: bucket of every element plus per-thread bucket counts
+            t = System.nanoTime();
+            int[] bucketOf = new int[n];
+            int[][] counts = new int[p][p];
+            c.buffer((long) (n + p * p) * Integer.BYTES);
+            List<Callable<Void>> tasks = new ArrayList<>();
+
+            for (int w = 0; w < p; w++)
+            {
+                final int worker = w;
+                tasks.add(() ->
+                {
+                    for (int i = sliceStart(n, p, worker); i < sliceStart(n, p, worker + 1); i++)
+                    {
+                        int b = bucket(splitters, a[i], c);
+                        bucketOf[i] = b;
+                        counts[worker][b]++;
+                    }
+                    return null;
+                });
+            }
+            invokeAll(pool, tasks);
+            phases.put("classify", lap(t));
+
+            // scatter: each thread copies its slice into its reserved offsets
+            t = System.nanoTime();
+            int[] bucketStart = new int[p + 1];
+            int[][] offsets = new int[p][p];
+            int next = 0;
+
+            for (int b = 0; b < p; b++)
+            {
+                bucketStart[b] = next;
+                for (int w = 0; w < p; w++)
+                {
+                    offsets[w][b] = next;
+                    next += counts[w][b];
+                }
+            }
+            bucketStart[p] = n;
+
+            T[] out = Arrays.copyOf(a, n);
+            c.buffer((long) n * Counters.REFERENCE_BYTES + (long) p * p * Integer.BYTES);
+            tasks.clear();
+
+            for (int w = 0; w < p; w++)
+            {
+                final int worker = w;
+                tasks.add(() ->
+                {
+                    int[] pos = offsets[worker];
+                    for (int i = sliceStart(n, p, worker); i < sliceStart(n, p, worker + 1); i++)
+                    {
+                        out[pos[bucketOf[i]]++] = a[i];
+                    }
+                    c.move(sliceStart(n, p, worker + 1) - sliceStart(n, p, worker));
+                    return null;
+                });
+            }
+            invokeAll(pool, tasks);
+            phases.put("partition", lap(t));
+
+            // local sort: one task per bucket
+            t = System.nanoTime();
+            tasks.clear();
+
+            for (int b = 0; b < p; b++)
+            {
+                final int lo = bucketStart[b];
+                final int hi = bucketStart[b + 1];
+                tasks.add(() ->
+                {
+                    localSort(out, lo, hi, useHeap, c);
+                    return null;
+                });
+            }
+            invokeAll(pool, tasks);
+            phases.put("local-sort", lap(t));
+
+            // concatenate: buckets are already contiguous in out
+            t = System.nanoTime();
+            tasks.clear();
+
+            for (int b = 0; b < p; b++)
+            {
+                final int lo = bucketStart[b];
+                final int hi = bucketStart[b + 1];
+                tasks.add(() ->
+                {
+                    System.arraycopy(out, lo, a, lo, hi - lo);
+                    c.move(hi - lo);
+                    return null;
+                });
+            }
+            invokeAll(pool, tasks);
+            phases.put("concatenate", lap(t));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        return phases;
+    }
+
+    // Sorts an oversampled random sample and takes every OVERSAMPLING-th element
+    private static <T extends Comparable<? super T>> T[] chooseSplitters(T[] a, int p, Counters c)
+    {
+        Random random = new Random(a.length);
+        T[] sample = Arrays.copyOf(a, p * OVERSAMPLING);
+        c.buffer((long) (sample.length + p - 1) * Counters.REFERENCE_BYTES);
+
+        for (int i = 0; i < sample.length; i++)
+        {
+            sample[i] = a[random.nextInt(a.length)];
+        }
+
+        ArraySorts.quickSort(sample, 0, sample.length, c);
+
+        T[] splitters = Arrays.copyOf(sample, p - 1);
+        for (int i = 0; i < p - 1; i++)
+        {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+
+        return splitters;
+    }
+
+    // Number of splitters less than or equal to x
+    private static <T extends Comparable<? super T>> int bucket(T[] splitters, T x, Counters c)
+    {
+        int lo = 0;
+        int hi = splitters.length;
+
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            if (ArraySorts.compare(splitters[mid], x, c) <= 0)
+            {
+                lo = mid + 1;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+
+    private static <T extends Comparable<? super T>> void localSort(
+            T[] a, int from, int to, boolean useHeap, Counters c)
+    {
+        if (useHeap)
+        {
+            ArraySorts.heapSort(a, from, to, c);
+        }
+        else
+        {
+            ArraySorts.quickSort(a, from, to, c);
+        }
+    }
+
+    private static int sliceStart(int n, int p, int w)
+    {
+        return (int) ((long) n * w / p);
+    }
+
+    private static double lap(long start)
+    {
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private static void invokeAll(ExecutorService pool, List<Callable<Void>> tasks)
+    {
+        try
+        {
+            for (Future<Void> f : pool.invokeAll(tasks))
+            {
+                f.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sorting", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException("Sample sort worker failed", e.getCause());
+        }
+    }
+}
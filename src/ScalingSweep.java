@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * @file: ScalingSweep.java
+ * @description: Support for the Proj3 sweep mode, which times every
+ *               algorithm, case and N inside one JVM. Parses sweep specs
+ *               such as "1000:100000:x2", collects the median time of each
+ *               run, fits a least-squares line to log(time) against log(N)
+ *               to estimate each algorithm's growth exponent, and writes one
+ *               plot-ready CSV per case plus a CSV of the fits.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class ScalingSweep
+{
+    // case -> algorithm -> N -> seconds
+    private final Map<String, Map<String, TreeMap<Integer, Double>>> times = new LinkedHashMap<>();
+
+    // ------------------------------------------------------------
+    // Sweep specs
+    // ------------------------------------------------------------
+
+    // Sizes for "start:end:step"; the step is "xF" to multiply by F or
+    // "+S" (or just "S") to add S. The end is always included.
+    public static List<Integer> sizes(String spec)
+    {
+        String[] parts = spec.split(":");
+        if (parts.length != 3)
+        {
+            throw new IllegalArgumentException("Sweep must look like start:end:step, e.g. 1000:100000:x2");
+        }
+
+        int start = Integer.parseInt(parts[0].trim());
+        int end = Integer.parseInt(parts[1].trim());
+        String step = parts[2].trim().toLowerCase();
+        boolean multiply = step.startsWith("x");
+        double amount = Double.parseDouble(step.replaceFirst("^[x+]", ""));
+
+        if (start < 1 || end < start || (multiply ? amount <= 1 : amount < 1))
+        {
+            throw new IllegalArgumentException("Sweep needs 1 <= start <= end and a step that grows N: " + spec);
+        }
+
+        List<Integer> sizes = new ArrayList<>();
+        for (double n = start; n < end; n = multiply ? n * amount : n + amount)
+        {
+            if (sizes.isEmpty() || (int) n != sizes.get(sizes.size() - 1))
+            {
+                sizes.add((int) n);
+            }
+        }
+        sizes.add(end);
+        return sizes;
+    }
+
+    // ------------------------------------------------------------
+    // Results + fitting
+    // ------------------------------------------------------------
+
+    public void record(String algo, String caseName, int n, double seconds)
+    {
+        times.computeIfAbsent(caseName, c -> new LinkedHashMap<>())
+                .computeIfAbsent(algo, a -> new TreeMap<>())
+                .put(n, seconds);
+    }
+
+    // Slope and r^2 of the least-squares line through (log N, log seconds)
+    public static double[] fit(Map<Integer, Double> points)
+    {
+        int count = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0, syy = 0;
+
+        for (Map.Entry<Integer, Double> p : points.entrySet())
+        {
+            if (p.getValue() <= 0) continue;
+
+            double x = Math.log(p.getKey());
+            double y = Math.log(p.getValue());
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+            syy += y * y;
+            count++;
+        }
+
+        double vx = count * sxx - sx * sx;
+        double vy = count * syy - sy * sy;
+        if (count < 2 || vx == 0)
+        {
+            return new double[] { Double.NaN, Double.NaN };
+        }
+
+        double cov = count * sxy - sx * sy;
+        double r2 = (vy == 0) ? 1 : (cov * cov) / (vx * vy);
+        return new double[] { cov / vx, r2 };
+    }
+
+    // Prints the exponent of every algorithm and case, then writes
+    // sweep-<case>.csv (n, then one seconds column per algorithm) and
+    // sweep-fit.csv (algorithm, case, exponent, r2, points)
+    public void report() throws IOException
+    {
+        try (LineWriter fits = new LineWriter(Paths.get("sweep-fit.csv"), Charset.defaultCharset(), false, false))
+        {
+            fits.writeLine("algorithm,case,exponent,r2,points");
+
+            for (Map.Entry<String, Map<String, TreeMap<Integer, Double>>> c : times.entrySet())
+            {
+                for (Map.Entry<String, TreeMap<Integer, Double>> a : c.getValue().entrySet())
+                {
+                    double[] fit = fit(a.getValue());
+                    System.out.printf("%s %s -> exponent: %.3f, r^2: %.3f%n", a.getKey(), c.getKey(), fit[0], fit[1]);
+                    fits.writeLine(a.getKey() + "," + c.getKey() + "," + fit[0] + "," + fit[1] + ","
+                            + a.getValue().size());
+                }
+
+                writeCase(c.getKey(), c.getValue());
+            }
+        }
+    }
+
+    private static void writeCase(String caseName, Map<String, TreeMap<Integer, Double>> byAlgo) throws IOException
+    {
+        TreeMap<Integer, List<String>> rows = new TreeMap<>();
+        StringBuilder header = new StringBuilder("n");
+        int column = 0;
+
+        for (Map.Entry<String, TreeMap<Integer, Double>> a : byAlgo.entrySet())
+        {
+            header.append(',').append(a.getKey());
+
+            for (Map.Entry<Integer, Double> p : a.getValue().entrySet())
+            {
+                List<String> row = rows.computeIfAbsent(p.getKey(), k -> new ArrayList<>());
+                while (row.size() < column)
+                {
+                    row.add("");
+                }
+                row.add(Double.toString(p.getValue()));
+            }
+            column++;
+        }
+
+        for (List<String> row : rows.values())
+        {
+            while (row.size() < column)
+            {
+                row.add("");
+            }
+        }
+
+        try (LineWriter out = new LineWriter(Paths.get("sweep-" + caseName + ".csv"),
+                Charset.defaultCharset(), false, false))
+        {
+            out.writeLine(header);
+            for (Map.Entry<Integer, List<String>> row : rows.entrySet())
+            {
+                out.writeLine(row.getKey() + "," + String.join(",", row.getValue()));
+            }
+        }
+    }
+}
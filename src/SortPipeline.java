@@ -0,0 +1,415 @@
+/*******************************************************************************
+ * @file: SortPipeline.java
+ * @description: Staged read-parse-sort-write pipeline. A reader thread, a
+ *               parser thread and a run-sorter thread are connected by
+ *               bounded queues, so sorted runs are produced while the file
+ *               is still being read. Once the input ends, the runs are
+ *               k-way merged and the merge feeds a writer thread batch by
+ *               batch. Each stage records how long it stalled waiting on
+ *               its input or output queue and how deep its output queue got.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Function;
+
+public final class SortPipeline<T extends Comparable<? super T>>
+{
+    public static final int DEFAULT_BATCH = 1024;
+    public static final int DEFAULT_RUN_SIZE = 1 << 16;
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+
+    private final Function<String, T> parser;
+    private final String runAlgo;
+    private final int batch;
+    private final int runSize;
+    private final int queueCapacity;
+
+    private final List<Stage> stages = new ArrayList<>();
+
+    // parser returns null for rows that should be dropped (e.g. the header)
+    public SortPipeline(Function<String, T> parser, String runAlgo, int batch, int runSize, int queueCapacity)
+    {
+        Proj3.checkChunkAlgorithm(runAlgo);
+
+        this.parser = parser;
+        this.runAlgo = runAlgo;
+        this.batch = Math.max(1, batch);
+        this.runSize = Math.max(1, runSize);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    public List<Stage> stages()
+    {
+        return stages;
+    }
+
+    // Sorts the first n lines of input into output. If any stage fails the
+    // merge is skipped and the partial output is deleted.
+    public void sort(String input, int n, String output) throws IOException
+    {
+        Stage reader = new Stage("reader");
+        Stage parse = new Stage("parser");
+        Stage runSorter = new Stage("run-sorter");
+        Stage merger = new Stage("merger");
+        Stage writer = new Stage("writer");
+        stages.clear();
+        stages.addAll(List.of(reader, parse, runSorter, merger, writer));
+
+        StageQueue<List<String>> lines = new StageQueue<>(queueCapacity, reader, parse);
+        StageQueue<List<T>> records = new StageQueue<>(queueCapacity, parse, runSorter);
+        StageQueue<List<String>> out = new StageQueue<>(queueCapacity, merger, writer);
+        List<List<T>> runs = new ArrayList<>();
+
+        Thread[] threads = {
+            worker(reader, () -> readStage(input, n, lines)),
+            worker(parse, () -> parseStage(lines, records)),
+            worker(runSorter, () -> runStage(records, runs)),
+            worker(writer, () -> writeStage(out, output))
+        };
+
+        for (Thread t : threads)
+        {
+            t.start();
+        }
+
+        // merge on this thread once the stages feeding it have finished,
+        // but only if none of them failed: their runs may be incomplete
+        join(threads[0]);
+        join(threads[1]);
+        join(threads[2]);
+
+        if (firstFailure() == null)
+        {
+            long start = System.nanoTime();
+            mergeStage(runs, out);
+            merger.busyNanos = System.nanoTime() - start - merger.outputStallNanos;
+        }
+        else
+        {
+            out.close();
+        }
+
+        join(threads[3]);
+
+        Stage failed = firstFailure();
+        if (failed != null)
+        {
+            Files.deleteIfExists(Paths.get(output));
+            throw new IOException(failed.name + " stage failed", failed.failure);
+        }
+    }
+
+    private Stage firstFailure()
+    {
+        for (Stage s : stages)
+        {
+            if (s.failure != null)
+            {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    // ------------------------------------------------------------
+    // Stages
+    // ------------------------------------------------------------
+
+    private void readStage(String input, int n, StageQueue<List<String>> lines) throws Exception
+    {
+        try (BufferedReader br = new BufferedReader(new FileReader(input)))
+        {
+            List<String> chunk = new ArrayList<>(batch);
+            int count = 0;
+
+            while (count < n)
+            {
+                String line = br.readLine();
+                if (line == null) break;
+
+                chunk.add(line);
+                count++;
+
+                if (chunk.size() == batch)
+                {
+                    lines.put(chunk);
+                    chunk = new ArrayList<>(batch);
+                }
+            }
+
+            if (!chunk.isEmpty())
+            {
+                lines.put(chunk);
+            }
+            lines.stage(count);
+        }
+        finally
+        {
+            lines.close();
+        }
+    }
+
+    private void parseStage(StageQueue<List<String>> lines, StageQueue<List<T>> records) throws Exception
+    {
+        try
+        {
+            long count = 0;
+            List<String> chunk;
+
+            while (!(chunk = lines.take()).isEmpty())
+            {
+                List<T> parsed = new ArrayList<>(chunk.size());
+                for (String line : chunk)
+                {
+                    T x = parser.apply(line);
+                    if (x != null)
+                    {
+                        parsed.add(x);
+                    }
+                }
+
+                count += parsed.size();
+                if (!parsed.isEmpty())
+                {
+                    records.put(parsed);
+                }
+            }
+            records.stage(count);
+        }
+        catch (RuntimeException e)
+        {
+            lines.drain();
+            throw e;
+        }
+        finally
+        {
+            records.close();
+        }
+    }
+
+    private void runStage(StageQueue<List<T>> records, List<List<T>> runs) throws Exception
+    {
+        ArrayList<T> run = new ArrayList<>();
+        List<T> chunk;
+
+        try
+        {
+            while (!(chunk = records.take()).isEmpty())
+            {
+                run.addAll(chunk);
+
+                if (run.size() >= runSize)
+                {
+                    Proj3.run(runAlgo, "run", run);
+                    runs.add(run);
+                    run = new ArrayList<>();
+                }
+            }
+        }
+        catch (RuntimeException e)
+        {
+            records.drain();
+            throw e;
+        }
+
+        if (!run.isEmpty())
+        {
+            Proj3.run(runAlgo, "run", run);
+            runs.add(run);
+        }
+    }
+
+    private void mergeStage(List<List<T>> runs, StageQueue<List<String>> out)
+    {
+        try
+        {
+            List<Iterator<T>> sources = new ArrayList<>();
+            for (List<T> run : runs)
+            {
+                sources.add(run.iterator());
+            }
+
+            KWayMerge<T> merge = new KWayMerge<>(sources);
+            List<String> chunk = new ArrayList<>(batch);
+
+            while (merge.hasNext())
+            {
+                chunk.add(merge.next().toString());
+
+                if (chunk.size() == batch)
+                {
+                    out.put(chunk);
+                    chunk = new ArrayList<>(batch);
+                }
+            }
+
+            if (!chunk.isEmpty())
+            {
+                out.put(chunk);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            stages.get(3).failure = e;
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+
+    private void writeStage(StageQueue<List<String>> out, String output) throws Exception
+    {
+        try (LineWriter lw = new LineWriter(Paths.get(output), Charset.defaultCharset(), false, false))
+        {
+            List<String> chunk;
+            while (!(chunk = out.take()).isEmpty())
+            {
+                lw.writeAll(chunk);
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            out.drain();
+            throw e;
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Plumbing
+    // ------------------------------------------------------------
+
+    private interface Body
+    {
+        void run() throws Exception;
+    }
+
+    private static Thread worker(Stage stage, Body body)
+    {
+        return new Thread(() ->
+        {
+            long start = System.nanoTime();
+            try
+            {
+                body.run();
+            }
+            catch (Exception e)
+            {
+                stage.failure = e;
+            }
+            stage.busyNanos = System.nanoTime() - start - stage.inputStallNanos - stage.outputStallNanos;
+        }, "pipeline-" + stage.name);
+    }
+
+    private static void join(Thread t) throws IOException
+    {
+        try
+        {
+            t.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + t.getName(), e);
+        }
+    }
+
+    // Bounded queue between two stages; an empty batch marks the end of input
+    private static final class StageQueue<E extends List<?>>
+    {
+        private final ArrayBlockingQueue<E> queue;
+        private final Stage producer;
+        private final Stage consumer;
+
+        StageQueue(int capacity, Stage producer, Stage consumer)
+        {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.producer = producer;
+            this.consumer = consumer;
+        }
+
+        void put(E item) throws InterruptedException
+        {
+            long start = System.nanoTime();
+            queue.put(item);
+            producer.outputStallNanos += System.nanoTime() - start;
+
+            int depth = queue.size();
+            producer.maxDepth = Math.max(producer.maxDepth, depth);
+            producer.depthSum += depth;
+            producer.batches++;
+        }
+
+        E take() throws InterruptedException
+        {
+            long start = System.nanoTime();
+            E item = queue.take();
+            consumer.inputStallNanos += System.nanoTime() - start;
+            return item;
+        }
+
+        // Discards batches up to the end marker so a failed consumer
+        // never leaves its producer blocked on a full queue
+        void drain() throws InterruptedException
+        {
+            while (!queue.take().isEmpty())
+            {
+            }
+        }
+
+        // Records how many items the producer emitted
+        void stage(long items)
+        {
+            producer.items = items;
+        }
+
+        @SuppressWarnings("unchecked")
+        void close()
+        {
+            try
+            {
+                queue.put((E) List.of());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Per-stage counters; each is written by one thread and read after join
+    public static final class Stage
+    {
+        final String name;
+        long items;
+        long batches;
+        long busyNanos;
+        long inputStallNanos;
+        long outputStallNanos;
+        int maxDepth;
+        long depthSum;
+        Exception failure;
+
+        Stage(String name)
+        {
+            this.name = name;
+        }
+
+        public double averageDepth()
+        {
+            return (batches == 0) ? 0 : (double) depthSum / batches;
+        }
+    }
+}
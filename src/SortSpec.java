@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * @file: SortSpec.java
+ * @description: Multi-column sort specification over the full dataset
+ *               schema, e.g. "popularity:desc,title:asc". The spec is
+ *               resolved against the CSV header and compiled once. Numeric
+ *               and date keys are parsed into a double[] per record, text
+ *               keys into a String[], so keys are never boxed. The
+ *               constructor builds one comparator per key, specialized to
+ *               its kind and direction, and compareTo runs that chain.
+ *               Missing or unparsable numbers and dates sort last in both
+ *               directions. A spec with a single numeric key takes a fast
+ *               path: the key is folded into one sortable long and
+ *               compareTo is a Long.compare. Records implement Comparable,
+ *               so every Proj3 algorithm can sort them.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public final class SortSpec
+{
+    // Columns compared as numbers; release_date is compared as a day number
+    private static final Set<String> NUMERIC_COLUMNS = Set.of(
+            "id", "popularity", "vote_count", "vote_average", "budget", "revenue", "runtime");
+    private static final String DATE_COLUMN = "release_date";
+
+    private enum Kind { NUMBER, DATE, TEXT }
+
+    private final String text;
+    private final int[] columns;
+    private final Kind[] kinds;
+    private final int[] slots;
+    private final boolean[] descending;
+    private final KeyOrder[] order;
+    private final int numberKeys;
+    private final int textKeys;
+    private final boolean singleNumeric;
+
+    private SortSpec(String text, List<String> header, String[] names, boolean[] descending)
+    {
+        this.text = text;
+        int k = names.length;
+        columns = new int[k];
+        kinds = new Kind[k];
+        slots = new int[k];
+        this.descending = descending.clone();
+        order = new KeyOrder[k];
+
+        int numbers = 0;
+        int texts = 0;
+
+        for (int i = 0; i < k; i++)
+        {
+            columns[i] = header.indexOf(names[i]);
+            if (columns[i] < 0)
+            {
+                throw new IllegalArgumentException("Unknown sort column: " + names[i]);
+            }
+
+            kinds[i] = NUMERIC_COLUMNS.contains(names[i]) ? Kind.NUMBER
+                    : names[i].equals(DATE_COLUMN) ? Kind.DATE : Kind.TEXT;
+            slots[i] = (kinds[i] == Kind.TEXT) ? texts++ : numbers++;
+            order[i] = keyOrder(kinds[i], slots[i], descending[i]);
+        }
+
+        numberKeys = numbers;
+        textKeys = texts;
+        singleNumeric = (k == 1 && kinds[0] != Kind.TEXT);
+    }
+
+    // Parses "column[:asc|:desc],..." and resolves the columns against header
+    public static SortSpec compile(String spec, List<String> header)
+    {
+        String[] parts = spec.split(",");
+        String[] names = new String[parts.length];
+        boolean[] descending = new boolean[parts.length];
+
+        for (int i = 0; i < parts.length; i++)
+        {
+            String[] kv = parts[i].trim().split(":");
+            names[i] = kv[0].trim().toLowerCase();
+
+            String order = (kv.length > 1) ? kv[1].trim().toLowerCase() : "asc";
+            if (!order.equals("asc") && !order.equals("desc"))
+            {
+                throw new IllegalArgumentException("Sort order must be asc or desc: " + parts[i]);
+            }
+            descending[i] = order.equals("desc");
+        }
+
+        return new SortSpec(spec, header, names, descending);
+    }
+
+    @Override
+    public String toString()
+    {
+        return text;
+    }
+
+    // ------------------------------------------------------------
+    // Loading
+    // ------------------------------------------------------------
+
+    // Header fields of a CSV file, taken from its first line
+    public static List<String> readHeader(Path file) throws IOException
+    {
+        try (BufferedReader br = new BufferedReader(new FileReader(file.toFile())))
+        {
+            String line = br.readLine();
+            if (line == null)
+            {
+                throw new IOException("Empty file: " + file);
+            }
+
+            List<String> header = new ArrayList<>();
+            for (String name : HorrorMovie.splitCsv(line))
+            {
+                header.add(name.trim().toLowerCase());
+            }
+            return header;
+        }
+    }
+
+    // Records from the first n records of file (header excluded), parsed
+    // in parallel by loader; rows missing a key column are skipped
+    public ArrayList<Record> load(Path file, int n, CsvLoader loader) throws IOException
+    {
+        Record[][] slots = new Record[1][];
+        int width = maxColumn() + 1;
+
+        loader.forEachRecord(file, n, count -> slots[0] = new Record[count],
+                (index, row) ->
+                {
+                    if (index > 0 && row.fields() >= width)
+                    {
+                        slots[0][index] = record(row);
+                    }
+                });
+
+        ArrayList<Record> records = new ArrayList<>(slots[0].length);
+        for (Record r : slots[0])
+        {
+            if (r != null)
+            {
+                records.add(r);
+            }
+        }
+        return records;
+    }
+
+    // Parses the key columns of one row
+    public Record record(CsvLoader.Row row)
+    {
+        double[] numbers = new double[numberKeys];
+        String[] texts = new String[textKeys];
+
+        for (int i = 0; i < columns.length; i++)
+        {
+            String field = row.string(columns[i]);
+            switch (kinds[i])
+            {
+                case NUMBER -> numbers[slots[i]] = parseNumber(field);
+                case DATE -> numbers[slots[i]] = parseDate(field);
+                case TEXT -> texts[slots[i]] = field;
+            }
+        }
+
+        return new Record(this, row.text(), numbers, texts);
+    }
+
+    private int maxColumn()
+    {
+        int max = 0;
+        for (int c : columns)
+        {
+            max = Math.max(max, c);
+        }
+        return max;
+    }
+
+    // Blank or unparsable values become NaN, which marks the key as missing
+    private static double parseNumber(String field)
+    {
+        try
+        {
+            return field.isBlank() ? Double.NaN : Double.parseDouble(field.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            return Double.NaN;
+        }
+    }
+
+    private static double parseDate(String field)
+    {
+        try
+        {
+            return field.isBlank() ? Double.NaN : LocalDate.parse(field.trim()).toEpochDay();
+        }
+        catch (DateTimeParseException e)
+        {
+            return Double.NaN;
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Comparison
+    // ------------------------------------------------------------
+
+    // Orders two records by one key
+    private interface KeyOrder
+    {
+        int compare(Record a, Record b);
+    }
+
+    // The comparator for one key, chosen once so compare never branches on
+    // kind or direction; a missing number sorts after every present one
+    // whichever way the key is ordered
+    private static KeyOrder keyOrder(Kind kind, int s, boolean desc)
+    {
+        if (kind == Kind.TEXT)
+        {
+            return desc ? (a, b) -> b.texts[s].compareToIgnoreCase(a.texts[s])
+                        : (a, b) -> a.texts[s].compareToIgnoreCase(b.texts[s]);
+        }
+
+        if (!desc)
+        {
+            // Double.compare already puts NaN after everything else
+            return (a, b) -> Double.compare(a.numbers[s], b.numbers[s]);
+        }
+
+        return (a, b) ->
+        {
+            double x = a.numbers[s];
+            double y = b.numbers[s];
+            boolean xMissing = Double.isNaN(x);
+            boolean yMissing = Double.isNaN(y);
+
+            if (xMissing || yMissing)
+            {
+                return Boolean.compare(xMissing, yMissing);
+            }
+            return Double.compare(y, x);
+        };
+    }
+
+    private int compare(Record a, Record b)
+    {
+        if (singleNumeric)
+        {
+            return Long.compare(a.key, b.key);
+        }
+
+        for (KeyOrder key : order)
+        {
+            int cmp = key.compare(a, b);
+            if (cmp != 0)
+            {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    // Maps Double.compare order onto signed long order, inverted for desc.
+    // A missing value maps to Long.MAX_VALUE, which no present value
+    // reaches in either direction, so it sorts last.
+    private long sortableKey(double value)
+    {
+        if (Double.isNaN(value))
+        {
+            return Long.MAX_VALUE;
+        }
+
+        long bits = Double.doubleToLongBits(value);
+        long key = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        return descending[0] ? ~key : key;
+    }
+
+    // One row's key values plus its raw CSV text, which is what gets written out
+    public static final class Record implements Comparable<Record>
+    {
+        private final SortSpec spec;
+        private final String row;
+        private final double[] numbers;
+        private final String[] texts;
+        private final long key;
+
+        Record(SortSpec spec, String row, double[] numbers, String[] texts)
+        {
+            this.spec = spec;
+            this.row = row;
+            this.numbers = numbers;
+            this.texts = texts;
+            this.key = spec.singleNumeric ? spec.sortableKey(numbers[0]) : 0;
+        }
+
+        @Override
+        public int compareTo(Record other)
+        {
+            return spec.compare(this, other);
+        }
+
+        @Override
+        public String toString()
+        {
+            return row;
+        }
+    }
+}
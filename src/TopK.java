@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * @file: TopK.java
+ * @description: Partial sorting: returns only the first K elements in sort
+ *               order. The heap strategy streams the input through a
+ *               MinBinaryHeap bounded at K entries (ordered so the root is
+ *               the worst element kept), using O(K) memory; equal elements
+ *               are ranked by input position, so the result is the first K
+ *               of a stable sort. The select strategy runs quickselect in
+ *               place with Proj3.partition and then sorts just the first K
+ *               elements; the order of equal elements is unspecified there.
+ * @author: Ben Martin
+ * @date: December 15, 2025
+ ******************************************************************************/
+
+import java.util.ArrayList;
+import java.util.Iterator;
+
+public final class TopK
+{
+    private TopK()
+    {
+    }
+
+    // ------------------------------------------------------------
+    // Bounded heap over a stream
+    // ------------------------------------------------------------
+
+    public static <T extends Comparable<? super T>> ArrayList<T> heapTopK(Iterator<? extends T> source, int k)
+    {
+        return heapTopK(source, k, Counters.NONE);
+    }
+
+    // First k elements of source in ascending order; among equal elements
+    // the earlier ones in source win and keep their order. The heap's own
+    // sifting is not visible to c: it sees the compares (every entry
+    // carries c), one move per element entering the heap or the result,
+    // and the heap's slots as buffer bytes.
+    public static <T extends Comparable<? super T>> ArrayList<T> heapTopK(
+            Iterator<? extends T> source, int k, Counters c)
+    {
+        MinBinaryHeap<Reversed<T>> heap = new MinBinaryHeap<>();
+
+        if (k > 0)
+        {
+            long position = 0;
+
+            while (source.hasNext())
+            {
+                T x = source.next();
+
+                // an element equal to the root came later, so it ranks below it
+                if (heap.size() < k)
+                {
+                    heap.add(new Reversed<>(x, position, c));
+                    c.move(1);
+                }
+                else if (ArraySorts.compare(x, heap.peek().value, c) < 0)
+                {
+                    heap.poll();
+                    heap.add(new Reversed<>(x, position, c));
+                    c.move(1);
+                }
+                position++;
+            }
+        }
+
+        c.buffer((long) heap.size() * Counters.REFERENCE_BYTES);
+
+        // the heap yields largest first; fill the result from the back
+        ArrayList<T> result = new ArrayList<>(heap.size());
+        for (int i = 0; i < heap.size(); i++)
+        {
+            result.add(null);
+        }
+
+        for (int i = result.size() - 1; i >= 0; i--)
+        {
+            result.set(i, heap.poll().value);
+        }
+        c.move(result.size());
+
+        return result;
+    }
+
+    // Inverts the natural order, then the input position, so MinBinaryHeap
+    // keeps the largest and, among equals, the latest element on top
+    private static final class Reversed<T extends Comparable<? super T>> implements Comparable<Reversed<T>>
+    {
+        final T value;
+        final long position;
+        final Counters counters;
+
+        Reversed(T value, long position, Counters counters)
+        {
+            this.value = value;
+            this.position = position;
+            this.counters = counters;
+        }
+
+        @Override
+        public int compareTo(Reversed<T> other)
+        {
+            int c = ArraySorts.compare(other.value, value, counters);
+            return (c != 0) ? c : Long.compare(other.position, position);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Quickselect + partial sort
+    // ------------------------------------------------------------
+
+    // Rearranges a so a[0..k-1] holds its k smallest elements in order,
+    // then truncates a to those k; which of several equal elements are kept,
+    // and in what order, is unspecified
+    public static <T extends Comparable<? super T>> void selectTopK(ArrayList<T> a, int k)
+    {
+        selectTopK(a, k, Counters.NONE);
+    }
+
+    public static <T extends Comparable<? super T>> void selectTopK(ArrayList<T> a, int k, Counters c)
+    {
+        k = Math.max(0, Math.min(k, a.size()));
+
+        if (k > 0 && k < a.size())
+        {
+            select(a, k - 1, c);
+        }
+
+        Proj3.quickSort(a, 0, k - 1, c);
+        a.subList(k, a.size()).clear();
+    }
+
+    // Places the element of rank target at a[target] with everything
+    // before it no greater and everything after it no smaller
+    private static <T extends Comparable<? super T>> void select(ArrayList<T> a, int target, Counters c)
+    {
+        int left = 0;
+        int right = a.size() - 1;
+
+        // Proj3.partition needs at least three elements
+        while (right - left >= 2)
+        {
+            int p = Proj3.partition(a, left, right, c);
+
+            if (p == target)
+            {
+                return;
+            }
+            else if (p < target)
+            {
+                left = p + 1;
+            }
+            else
+            {
+                right = p - 1;
+            }
+        }
+
+        if (right > left && ArraySorts.compare(a.get(left), a.get(right), c) > 0)
+        {
+            Proj3.swap(a, left, right, c);
+        }
+    }
+}